@@ -0,0 +1,376 @@
+package com.moeim.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 채팅 위젯 부하 테스트 (로컬에 띄운 앱에 실제 위젯과 같은 패턴으로 요청을 보냄)
+ *
+ * 1) 앱 실행 (SQL 수 집계를 켜서)
+ *    ./gradlew bootRun --args='--moeim.metrics.db-statements=true --management.endpoints.web.exposure.include=health,metrics'
+ * 2) 부하 실행
+ *    ./gradlew :loadtest:run --args='--users=200 --direct-rooms=300 --group-rooms=20 --group-size=10 --duration=120'
+ *
+ * 옵션 (괄호는 기본값)
+ *   --base-url (http://localhost:10000)  --users (50)  --direct-rooms (50)  --group-rooms (5)  --group-size (8)
+ *   --duration 초 (60)  --ramp-up 초 (10)  --send-per-minute 유저당 (2)  --poll-ms 열어 둔 방 폴링 간격 (2000)
+ *
+ * 순서: 유저 가입/로그인 → 1:1 방, 그룹(가입 신청/승인) 생성 → 가상 유저 실행 → 결과 출력
+ * 결과: 엔드포인트별 처리량, p50/p99/p999 응답 시간, 엔드포인트별 SQL 수 (JDBC 직접 실행 포함, 묶음 저장기는 background)
+ * 매번 새 계정을 만들므로 (이메일에 실행 id) 같은 DB 에 여러 번 돌려도 됨
+ */
+public class ChatLoadTest {
+
+    private static final Pattern LOGIN_USER_ID = Pattern.compile("data-login-user-id=\"(\\d+)\"");
+    private static final Pattern CATEGORY_OPTION = Pattern.compile("<option value=\"(\\d+)\"");
+    private static final Pattern GROUP_HOME = Pattern.compile("/group/home/(\\d+)");
+    private static final String STATEMENT_METRIC = "/actuator/metrics/moeim.db.statements";
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        LatencyRecorder recorder = new LatencyRecorder();
+        LoadTestClient client = new LoadTestClient(options.baseUrl, recorder);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            // ───────────────── 1) 데이터 준비 ─────────────────
+            System.out.printf("[준비] 유저 %d명 가입/로그인 (run=%s)%n", options.users, runId);
+            List<SeededUser> users = seedUsers(executor, client, runId, options.users);
+
+            Map<SeededUser, List<Long>> roomsByUser = new LinkedHashMap<>();
+            for (SeededUser u : users) {
+                roomsByUser.put(u, new ArrayList<>());
+            }
+
+            System.out.printf("[준비] 1:1 방 %d개%n", options.directRooms);
+            seedDirectRooms(executor, client, users, roomsByUser, options.directRooms);
+
+            if (options.groupRooms > 0) {
+                System.out.printf("[준비] 그룹 방 %d개 (방마다 %d명)%n", options.groupRooms, options.groupSize);
+                try {
+                    seedGroupRooms(client, runId, users, roomsByUser, options.groupRooms, options.groupSize);
+                } catch (Exception e) {
+                    System.err.println("[준비] 그룹 방 생성 실패, 1:1 방만으로 진행: " + e.getMessage());
+                }
+            }
+
+            // ───────────────── 2) 부하 ─────────────────
+            Map<String, Double> statementsBefore = readStatementCounts(client);
+
+            System.out.printf("[실행] %d초 (ramp-up %d초)%n", options.durationSeconds, options.rampUpSeconds);
+            recorder.start();
+            long startNanos = System.nanoTime();
+            long deadlineNanos = startNanos + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+
+            List<Future<?>> running = new ArrayList<>(users.size());
+            for (int i = 0; i < users.size(); i++) {
+                SeededUser u = users.get(i);
+                long delay = TimeUnit.SECONDS.toMillis(options.rampUpSeconds) * i / users.size();
+                running.add(executor.submit(new VirtualUser(client, u, roomsByUser.get(u),
+                        options.pollMillis, options.sendPerMinute, delay, deadlineNanos)));
+            }
+            for (Future<?> f : running) {
+                f.get();
+            }
+            recorder.stop();
+            double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+            // ───────────────── 3) 결과 ─────────────────
+            Map<String, Double> statementsAfter = readStatementCounts(client);
+            printLatencies(recorder, elapsedSeconds);
+            printStatements(recorder, statementsBefore, statementsAfter);
+        }
+    }
+
+    // ───────────────── 유저 ─────────────────
+
+    private static List<SeededUser> seedUsers(ExecutorService executor, LoadTestClient client,
+                                              String runId, int count) throws Exception {
+        List<Future<SeededUser>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> signupAndLogin(client, runId, index)));
+        }
+        List<SeededUser> users = new ArrayList<>(count);
+        for (Future<SeededUser> f : futures) {
+            users.add(f.get());
+        }
+        return users;
+    }
+
+    private static SeededUser signupAndLogin(LoadTestClient client, String runId, int index) throws Exception {
+        String email = "lt-" + runId + "-" + index + "@loadtest.local";
+        String password = "loadtest-" + runId;
+
+        Map<String, String> signup = new LinkedHashMap<>();
+        signup.put("email", email);
+        signup.put("password", password);
+        signup.put("passwordConfirm", password);
+        signup.put("nickname", "lt" + runId + "_" + index);
+        HttpResponse<String> signedUp = client.postForm(null, "/user/signup", null, signup);
+        if (signedUp.statusCode() != 302) {
+            throw new IllegalStateException("가입 실패: " + email + " (" + signedUp.statusCode() + ")");
+        }
+
+        HttpResponse<String> login = client.postForm(null, "/user/login", null,
+                Map.of("email", email, "password", password));
+        String cookie = login.headers().allValues("Set-Cookie").stream()
+                .filter(c -> c.startsWith("JSESSIONID="))
+                .map(c -> c.substring(0, c.indexOf(';') > 0 ? c.indexOf(';') : c.length()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("로그인 실패: " + email + " (" + login.statusCode() + ")"));
+
+        // userId 는 레이아웃 body 의 data-login-user-id 에서
+        String home = client.get(null, "/", cookie).body();
+        Matcher m = LOGIN_USER_ID.matcher(home);
+        if (!m.find() || "0".equals(m.group(1))) {
+            throw new IllegalStateException("로그인 유저 id 를 찾을 수 없습니다: " + email);
+        }
+        return new SeededUser(email, cookie, Long.parseLong(m.group(1)));
+    }
+
+    // ───────────────── 1:1 방 ─────────────────
+
+    // 유저 i 와 i+1, i+2 ... 를 차례로 짝지음 (같은 쌍은 한 번만)
+    private static void seedDirectRooms(ExecutorService executor, LoadTestClient client, List<SeededUser> users,
+                                        Map<SeededUser, List<Long>> roomsByUser, int count) throws Exception {
+        int n = users.size();
+        if (n < 2) return;
+
+        Set<Long> pairs = new HashSet<>();
+        List<SeededUser[]> targets = new ArrayList<>();
+        for (int k = 0; targets.size() < count && k < n * (n - 1); k++) {
+            int a = k % n;
+            int b = (a + 1 + k / n) % n;
+            if (a == b || !pairs.add((long) Math.min(a, b) * n + Math.max(a, b))) continue;
+            targets.add(new SeededUser[]{users.get(a), users.get(b)});
+        }
+
+        List<Future<Long>> futures = new ArrayList<>(targets.size());
+        for (SeededUser[] pair : targets) {
+            Callable<Long> open = () -> {
+                HttpResponse<String> r = client.postJson(null, "/api/chat/direct/" + pair[1].getUserId(),
+                        pair[0].getCookie(), Map.of());
+                if (r.statusCode() != 200) {
+                    throw new IllegalStateException("1:1 방 생성 실패 (" + r.statusCode() + ")");
+                }
+                return client.json(r).get("roomId").asLong();
+            };
+            futures.add(executor.submit(open));
+        }
+        for (int i = 0; i < targets.size(); i++) {
+            Long roomId = futures.get(i).get();
+            for (SeededUser u : targets.get(i)) {
+                roomsByUser.get(u).add(roomId);
+            }
+        }
+    }
+
+    // ───────────────── 그룹 방 ─────────────────
+
+    // 그룹 생성 → 나머지 멤버 가입 신청 → 방장이 설정 화면에서 전부 승인 → 방장의 내 그룹 채팅 목록에서 방 id
+    private static void seedGroupRooms(LoadTestClient client, String runId, List<SeededUser> users,
+                                       Map<SeededUser, List<Long>> roomsByUser, int count, int size) throws Exception {
+        int n = users.size();
+        int groupSize = Math.min(size, n);
+
+        Matcher category = CATEGORY_OPTION.matcher(client.get(null, "/group/form", users.get(0).getCookie()).body());
+        if (!category.find()) {
+            throw new IllegalStateException("그룹 카테고리를 찾을 수 없습니다.");
+        }
+        String categoryId = category.group(1);
+
+        for (int g = 0; g < count; g++) {
+            SeededUser owner = users.get(g % n);
+            String title = "부하테스트 " + runId + "-" + g;
+
+            Map<String, String> form = new LinkedHashMap<>();
+            form.put("title", title);
+            form.put("description", "부하 테스트용 그룹");
+            form.put("maxCount", String.valueOf(groupSize + 1));
+            form.put("categoryId", categoryId);
+            HttpResponse<String> created = client.postMultipart(null, "/group/form", owner.getCookie(), form);
+            Matcher home = GROUP_HOME.matcher(created.headers().firstValue("Location").orElse(""));
+            if (!home.find()) {
+                throw new IllegalStateException("그룹 생성 실패 (" + created.statusCode() + ")");
+            }
+            String groupId = home.group(1);
+
+            List<SeededUser> members = new ArrayList<>();
+            members.add(owner);
+            for (int j = 1; j < groupSize; j++) {
+                SeededUser member = users.get((g + j) % n);
+                client.postForm(null, "/group/signup", member.getCookie(), Map.of("id", groupId, "message", "참여"));
+                members.add(member);
+            }
+
+            String settings = client.get(null, "/group/settings/" + groupId, owner.getCookie()).body();
+            Matcher approve = Pattern.compile("/group/join/(\\d+)/approve/" + groupId).matcher(settings);
+            while (approve.find()) {
+                client.postForm(null, approve.group(), owner.getCookie(), Map.of());
+            }
+
+            Long roomId = null;
+            for (JsonNode room : client.json(client.get(null, "/api/chat/my-groups", owner.getCookie()))) {
+                if (title.equals(room.path("groupTitle").asText())) {
+                    roomId = room.get("roomId").asLong();
+                }
+            }
+            if (roomId == null) {
+                throw new IllegalStateException("그룹 채팅방을 찾을 수 없습니다: " + title);
+            }
+            for (SeededUser member : members) {
+                roomsByUser.get(member).add(roomId);
+            }
+        }
+    }
+
+    // ───────────────── 결과 출력 ─────────────────
+
+    private static void printLatencies(LatencyRecorder recorder, double elapsedSeconds) {
+        System.out.println();
+        System.out.printf("%-48s %8s %6s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50(ms)", "p99(ms)", "p999(ms)");
+        long total = 0;
+        for (Map.Entry<String, LatencyRecorder.Series> e : recorder.snapshot().entrySet()) {
+            long[] sorted = e.getValue().sorted();
+            total += sorted.length;
+            System.out.printf("%-48s %8d %6d %9.1f %9.1f %9.1f %9.1f%n",
+                    e.getKey(), sorted.length, e.getValue().errors(), sorted.length / elapsedSeconds,
+                    LatencyRecorder.Series.percentileMillis(sorted, 0.50),
+                    LatencyRecorder.Series.percentileMillis(sorted, 0.99),
+                    LatencyRecorder.Series.percentileMillis(sorted, 0.999));
+        }
+        System.out.printf("%-48s %8d %6s %9.1f%n", "total", total, "", total / elapsedSeconds);
+    }
+
+    // 서버 집계는 매핑 패턴 단위라서 (since) 같은 구분은 합쳐서 요청당 평균을 냄
+    private static void printStatements(LatencyRecorder recorder, Map<String, Double> before, Map<String, Double> after) {
+        System.out.println();
+        if (after.isEmpty()) {
+            System.out.println("SQL 수: 집계 없음 (앱을 --moeim.metrics.db-statements=true 와 metrics 엔드포인트 노출로 실행)");
+            return;
+        }
+
+        Map<String, Long> requests = new TreeMap<>();
+        recorder.snapshot().forEach((endpoint, series) ->
+                requests.merge(endpoint.replace(" (since)", ""), (long) series.sorted().length, Long::sum));
+
+        System.out.printf("%-48s %10s %10s%n", "endpoint (server)", "statements", "per req");
+        for (Map.Entry<String, Double> e : new TreeMap<>(after).entrySet()) {
+            long statements = Math.round(e.getValue() - before.getOrDefault(e.getKey(), 0.0));
+            if (statements == 0) continue;
+            Long count = requests.get(e.getKey());
+            System.out.printf("%-48s %10d %10s%n", e.getKey(), statements,
+                    count != null && count > 0 ? String.format("%.2f", (double) statements / count) : "-");
+        }
+    }
+
+    // /actuator/metrics/moeim.db.statements 의 endpoint 태그별 누적값 (집계가 꺼져 있으면 빈 맵)
+    private static Map<String, Double> readStatementCounts(LoadTestClient client) {
+        Map<String, Double> counts = new LinkedHashMap<>();
+        try {
+            HttpResponse<String> r = client.get(null, STATEMENT_METRIC, null);
+            if (r.statusCode() != 200) return counts;
+
+            for (JsonNode tag : client.json(r).path("availableTags")) {
+                if (!"endpoint".equals(tag.path("tag").asText())) continue;
+                for (JsonNode value : tag.path("values")) {
+                    String endpoint = value.asText();
+                    HttpResponse<String> one = client.get(null,
+                            STATEMENT_METRIC + "?tag=" + LoadTestClient.encode("endpoint:" + endpoint), null);
+                    if (one.statusCode() != 200) continue;
+                    for (JsonNode m : client.json(one).path("measurements")) {
+                        if ("COUNT".equals(m.path("statistic").asText())) {
+                            counts.put(endpoint, m.path("value").asDouble());
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("SQL 수 조회 실패: " + e.getMessage());
+        }
+        return counts;
+    }
+
+    // ───────────────── 옵션 / 준비된 유저 ─────────────────
+
+    static final class SeededUser {
+        private final String email;
+        private final String cookie;
+        private final long userId;
+
+        SeededUser(String email, String cookie, long userId) {
+            this.email = email;
+            this.cookie = cookie;
+            this.userId = userId;
+        }
+
+        String getEmail() {
+            return email;
+        }
+
+        String getCookie() {
+            return cookie;
+        }
+
+        long getUserId() {
+            return userId;
+        }
+    }
+
+    private static final class Options {
+        private String baseUrl = "http://localhost:10000";
+        private int users = 50;
+        private int directRooms = 50;
+        private int groupRooms = 5;
+        private int groupSize = 8;
+        private int durationSeconds = 60;
+        private int rampUpSeconds = 10;
+        private double sendPerMinute = 2;
+        private long pollMillis = 2000;
+
+        private static Options parse(String[] args) {
+            Options o = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("옵션 형식은 --이름=값 입니다: " + arg);
+                }
+                String name = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                switch (name) {
+                    case "base-url" -> o.baseUrl = value;
+                    case "users" -> o.users = Integer.parseInt(value);
+                    case "direct-rooms" -> o.directRooms = Integer.parseInt(value);
+                    case "group-rooms" -> o.groupRooms = Integer.parseInt(value);
+                    case "group-size" -> o.groupSize = Integer.parseInt(value);
+                    case "duration" -> o.durationSeconds = Integer.parseInt(value);
+                    case "ramp-up" -> o.rampUpSeconds = Integer.parseInt(value);
+                    case "send-per-minute" -> o.sendPerMinute = Double.parseDouble(value);
+                    case "poll-ms" -> o.pollMillis = Long.parseLong(value);
+                    default -> throw new IllegalArgumentException("알 수 없는 옵션: " + name);
+                }
+            }
+            if (o.users < 1) {
+                throw new IllegalArgumentException("--users 는 1 이상이어야 합니다.");
+            }
+            return o;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.moeim.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트별 응답 시간 기록 (측정 구간 동안 전부 들고 있다가 끝나고 정렬해서 백분위 계산)
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    void start() {
+        series.clear();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+    }
+
+    void record(String endpoint, long nanos, boolean ok) {
+        if (!recording) return;
+        Series s = series.computeIfAbsent(endpoint, e -> new Series());
+        s.add(nanos);
+        if (!ok) s.errors.increment();
+    }
+
+    // 엔드포인트 이름순
+    Map<String, Series> snapshot() {
+        return new TreeMap<>(series);
+    }
+
+    static final class Series {
+        private long[] values = new long[1024];
+        private int size;
+        private final LongAdder errors = new LongAdder();
+
+        private synchronized void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        long errors() {
+            return errors.sum();
+        }
+
+        static double percentileMillis(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+        }
+    }
+}
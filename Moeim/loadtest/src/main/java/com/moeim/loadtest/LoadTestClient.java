@@ -0,0 +1,105 @@
+package com.moeim.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 앱 호출 래퍼 (모든 가상 유저가 HttpClient 하나를 같이 쓰고, 세션 쿠키는 요청마다 직접 붙임)
+ * endpoint 이름을 주면 응답 시간을 기록
+ */
+final class LoadTestClient {
+
+    static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+
+    LoadTestClient(String baseUrl, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.recorder = recorder;
+        this.http = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER) // 로그인/생성 후 Location 을 직접 읽음
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    HttpResponse<String> get(String endpoint, String path, String cookie) throws IOException, InterruptedException {
+        return send(endpoint, request(path, cookie).GET());
+    }
+
+    HttpResponse<String> postJson(String endpoint, String path, String cookie, Object body)
+            throws IOException, InterruptedException {
+        return send(endpoint, request(path, cookie)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body))));
+    }
+
+    HttpResponse<String> postForm(String endpoint, String path, String cookie, Map<String, String> form)
+            throws IOException, InterruptedException {
+        String body = form.entrySet().stream()
+                .map(e -> encode(e.getKey()) + "=" + encode(e.getValue()))
+                .collect(Collectors.joining("&"));
+        return send(endpoint, request(path, cookie)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    // 파일 없는 multipart (그룹 생성 폼)
+    HttpResponse<String> postMultipart(String endpoint, String path, String cookie, Map<String, String> fields)
+            throws IOException, InterruptedException {
+        String boundary = "----moeim" + UUID.randomUUID();
+        StringBuilder body = new StringBuilder();
+        fields.forEach((name, value) -> body.append("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(name).append("\"\r\n\r\n")
+                .append(value).append("\r\n"));
+        body.append("--").append(boundary).append("--\r\n");
+        return send(endpoint, request(path, cookie)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8)));
+    }
+
+    JsonNode json(HttpResponse<String> response) throws IOException {
+        return JSON.readTree(response.body());
+    }
+
+    private HttpRequest.Builder request(String path, String cookie) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (cookie != null) {
+            builder.header("Cookie", cookie);
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder builder)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            HttpResponse<String> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            ok = response.statusCode() < 400;
+            return response;
+        } finally {
+            if (endpoint != null) {
+                recorder.record(endpoint, System.nanoTime() - start, ok);
+            }
+        }
+    }
+
+    static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,163 @@
+package com.moeim.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가상 유저 한 명 (가상 스레드 하나) = 채팅 위젯을 열어 둔 브라우저 탭 하나
+ * - 3초마다 안 읽은 수 조회 (헤더 배지)
+ * - 열어 둔 방은 poll-ms 마다 since/readSince 로 델타 조회, 새 메시지가 오면 읽음 처리
+ * - 분당 send-per-minute 번 정도 메시지 전송 (간격은 지수 분포)
+ * - 가끔 방 목록을 다시 불러오고 다른 방으로 옮김
+ */
+final class VirtualUser implements Runnable {
+
+    static final String UNREAD_COUNT = "GET /api/chat/unread-count";
+    static final String MESSAGES_LATEST = "GET /api/chat/rooms/{roomId}/messages";
+    static final String MESSAGES_SINCE = "GET /api/chat/rooms/{roomId}/messages (since)";
+    static final String SEND = "POST /api/chat/rooms/{roomId}/messages";
+    static final String READ = "POST /api/chat/rooms/{roomId}/read";
+    static final String MY_DIRECT = "GET /api/chat/my-direct";
+    static final String MY_GROUPS = "GET /api/chat/my-groups";
+
+    private static final long UNREAD_INTERVAL_MS = 3_000;
+    private static final long ROOM_SWITCH_MEAN_MS = 60_000;
+
+    private final LoadTestClient client;
+    private final ChatLoadTest.SeededUser user;
+    private final List<Long> rooms;
+    private final long pollMillis;
+    private final double sendMeanMillis;
+    private final long startDelayMillis;
+    private final long deadlineNanos;
+
+    // 지금 열어 둔 방 상태
+    private Long roomId;
+    private long lastMessageId;
+    private String readSince;
+    private long sentCount;
+
+    VirtualUser(LoadTestClient client, ChatLoadTest.SeededUser user, List<Long> rooms,
+                long pollMillis, double sendPerMinute, long startDelayMillis, long deadlineNanos) {
+        this.client = client;
+        this.user = user;
+        this.rooms = rooms;
+        this.pollMillis = pollMillis;
+        this.sendMeanMillis = sendPerMinute > 0 ? 60_000.0 / sendPerMinute : Double.POSITIVE_INFINITY;
+        this.startDelayMillis = startDelayMillis;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        try {
+            Thread.sleep(startDelayMillis); // ramp-up
+            if (rooms.isEmpty()) return;
+
+            long now = nowMillis();
+            long nextUnread = now;
+            long nextPoll = now + pollMillis;
+            long nextSend = now + exponential(sendMeanMillis);
+            long nextSwitch = now + exponential(ROOM_SWITCH_MEAN_MS);
+
+            openRoom(rooms.get(ThreadLocalRandom.current().nextInt(rooms.size())));
+
+            while (System.nanoTime() < deadlineNanos) {
+                now = nowMillis();
+                if (now >= nextUnread) {
+                    client.get(UNREAD_COUNT, "/api/chat/unread-count", user.getCookie());
+                    nextUnread = now + UNREAD_INTERVAL_MS;
+                }
+                if (now >= nextPoll) {
+                    poll();
+                    nextPoll = now + pollMillis;
+                }
+                if (now >= nextSend) {
+                    send();
+                    nextSend = now + exponential(sendMeanMillis);
+                }
+                if (now >= nextSwitch) {
+                    reloadRoomLists();
+                    openRoom(rooms.get(ThreadLocalRandom.current().nextInt(rooms.size())));
+                    nextSwitch = now + exponential(ROOM_SWITCH_MEAN_MS);
+                }
+
+                long wait = Math.min(Math.min(nextUnread, nextPoll), Math.min(nextSend, nextSwitch)) - nowMillis();
+                if (wait > 0) {
+                    Thread.sleep(wait);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // 한 명이 죽어도 나머지는 계속 (오류는 응답 시간 기록에 이미 남음)
+            System.err.println("가상 유저 " + user.getEmail() + " 중단: " + e);
+        }
+    }
+
+    // 방 열기: 최신 페이지 + 끝까지 읽음 처리
+    private void openRoom(Long id) throws Exception {
+        roomId = id;
+        readSince = null;
+        lastMessageId = 0;
+
+        HttpResponse<String> response = client.get(MESSAGES_LATEST, "/api/chat/rooms/" + id + "/messages", user.getCookie());
+        if (response.statusCode() != 200) return;
+        for (JsonNode m : client.json(response)) {
+            lastMessageId = Math.max(lastMessageId, m.path("id").asLong());
+        }
+        markRead();
+    }
+
+    private void poll() throws Exception {
+        String path = "/api/chat/rooms/" + roomId + "/messages?since=" + lastMessageId
+                + (readSince != null ? "&readSince=" + LoadTestClient.encode(readSince) : "");
+        HttpResponse<String> response = client.get(MESSAGES_SINCE, path, user.getCookie());
+        if (response.statusCode() != 200) return;
+
+        JsonNode body = client.json(response);
+        if (body.path("hasMore").asBoolean()) {
+            openRoom(roomId); // 위젯도 최신 페이지를 다시 불러옴
+            return;
+        }
+        readSince = body.path("syncedAt").asText(null);
+        long previous = lastMessageId;
+        if (body.hasNonNull("lastMessageId")) {
+            lastMessageId = Math.max(lastMessageId, body.get("lastMessageId").asLong());
+        }
+        if (lastMessageId > previous) {
+            markRead();
+        }
+    }
+
+    private void send() throws Exception {
+        sentCount++;
+        client.postJson(SEND, "/api/chat/rooms/" + roomId + "/messages", user.getCookie(),
+                Map.of("content", "부하 테스트 메시지 " + user.getUserId() + "-" + sentCount));
+    }
+
+    private void markRead() throws Exception {
+        if (lastMessageId <= 0) return;
+        client.postJson(READ, "/api/chat/rooms/" + roomId + "/read", user.getCookie(),
+                Map.of("lastMessageId", lastMessageId));
+    }
+
+    private void reloadRoomLists() throws Exception {
+        client.get(MY_DIRECT, "/api/chat/my-direct", user.getCookie());
+        client.get(MY_GROUPS, "/api/chat/my-groups", user.getCookie());
+    }
+
+    private static long exponential(double meanMillis) {
+        if (Double.isInfinite(meanMillis)) return Long.MAX_VALUE / 2;
+        return (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanMillis);
+    }
+
+    private static long nowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+}
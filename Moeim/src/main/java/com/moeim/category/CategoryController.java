@@ -1,7 +1,7 @@
 package com.moeim.category;
 
 import com.moeim.global.enums.CategoryType;
-import com.moeim.group.Group;
+import com.moeim.group.GroupCard;
 import com.moeim.group.GroupService;
 import com.moeim.post.Post;
 import com.moeim.post.PostService;
@@ -58,7 +58,7 @@ public class CategoryController {
 
         // 일반 카테고리인 경우, 그룹 페이징도 추가
         if (category.getType() == CategoryType.CATEGORY) {
-            Page<Group> groupPaging;
+            Page<GroupCard> groupPaging;
             if (categoryId == 0) {
                 // 전체 소모임 조회
                 groupPaging = this.groupService.getAllGroups(0);
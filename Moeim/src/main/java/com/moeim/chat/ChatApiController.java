@@ -1,18 +1,24 @@
 package com.moeim.chat;
 
+import com.moeim.global.WriteRateLimits;
 import com.moeim.global.enums.ChatRoomType;
+import com.moeim.user.SessionUser;
 import com.moeim.user.User;
 import com.moeim.user.UserService;
+import com.moeim.user.UserSnapshot;
 import jakarta.servlet.http.HttpSession;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,124 +30,195 @@ public class ChatApiController {
     private final ChatMessageService chatMessageService;
     private final UserService userService;
     private final ChatParticipantRepository chatParticipantRepository;
-    private final ChatMessageRepository chatMessageRepository;
-
-    // ───────────────── 공통: 로그인 유저 꺼내기 ─────────────────
-    private User getLoginUser(HttpSession session) {
-        User sessionUser = (User) session.getAttribute("user");
+    private final ChatReadMarkerBuffer readMarkerBuffer;
+    private final ChatSearchIndex chatSearchIndex;
+    private final WriteRateLimits writeRateLimits;
+
+    // 히스토리 한 번에 내려주는 메시지 수
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+    // 델타 동기화 읽음 커서를 당겨두는 시간 (동시에 커밋되는 읽음 변경 누락 방지)
+    private static final long READ_SYNC_GRACE_SECONDS = 2;
+    // 검색 결과 한 번에 내려주는 수
+    private static final int DEFAULT_SEARCH_SIZE = 20;
+    // 메시지 최대 길이 (chat_messages.content 컬럼 길이)
+    private static final int MAX_CONTENT_LENGTH = 1000;
+
+    // ───────────────── 공통: 로그인 유저 꺼내기 / 참가자 확인 ─────────────────
+    private UserSnapshot getLoginUser(HttpSession session) {
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
         }
-        // 세션에 있는 건 오래될 수 있으니 한번 더 DB에서 읽어오기
-        return userService.getUserById(sessionUser.getId());
+        // 세션에 있는 건 오래될 수 있으니 최신 정보로 (스냅샷 캐시, 프로필 수정 시 바로 갱신됨)
+        return userService.getSnapshot(sessionUser.getId());
+    }
+
+    // 프로필 이미지 URL 의 ?v= (메시지를 어디서 읽었든 스냅샷 캐시의 현재 값 → 한 화면에서 같은 사람은 같은 URL)
+    private long profileImageVersion(Long userId) {
+        return userService.getSnapshot(userId).getProfileImageVersion();
+    }
+
+    // 방 참가자가 아니면 403 (방 id 만 알면 남의 방 메시지/읽음 상태를 볼 수 있으므로)
+    private void requireParticipant(Long roomId, Long userId) {
+        if (!chatParticipantRepository.existsByChatRoom_IdAndUser_Id(roomId, userId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "이 방에 참가자가 아닙니다.");
+        }
     }
 
     // ───────────────── 1) 특정 방 메시지 목록 조회 ─────────────────
-    // GET /api/chat/rooms/{roomId}/messages
+    // GET /api/chat/rooms/{roomId}/messages                 → 최신 페이지
+    // GET /api/chat/rooms/{roomId}/messages?before=123&limit=50 → 123번보다 오래된 페이지
     @GetMapping("/rooms/{roomId}/messages")
     public List<ChatMessageDTO> getMessages(
             @PathVariable Long roomId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer limit,
             HttpSession session
     ) {
-        User loginUser = getLoginUser(session);
-
-        //예외처리 추가
-        if (loginUser == null) {
-            throw new IllegalArgumentException("로그인이 필욯합니다.");
-        }
+        UserSnapshot loginUser = getLoginUser(session);
+        Long meId = loginUser.getId();
 
         ChatRoom room = chatRoomService.getRoom(roomId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "채팅방을 찾을 수 없습니다."));
+        requireParticipant(roomId, meId);
 
-        Long meId = loginUser.getId();
-
-        // 이 방의 참가자들
-        List<ChatParticipant> participants =
-                chatParticipantRepository.findByChatRoom_Id(roomId);
-
-        // 1:1 처리 값
-        Long minOthersLastRead = null;
-        for (ChatParticipant cp : participants) {
-            if (!cp.getUser().getId().equals(meId)) {
-                Long lr = cp.getLastReadMessageId();
-                if (lr != null) {
-                    if (minOthersLastRead == null) {
-                        minOthersLastRead = lr;
-                    } else {
-                        minOthersLastRead = Math.min(minOthersLastRead, lr);
-                    }
-                }
-            }
-        }
-        final Long finalMinOthersLastRead = minOthersLastRead;
+        // 이 방 참가자들의 읽음 위치를 한 번만 정렬해 두고 메시지마다 이진 탐색
+        ReadReceiptIndex receipts = ReadReceiptIndex.of(
+                chatParticipantRepository.findByChatRoom_Id(roomId), readMarkerBuffer.pendingFor(roomId));
+        final Long minOthersLastRead = receipts.minLastReadExcept(meId);
         final boolean isGroupRoom = room.getType() == ChatRoomType.GROUP;
 
-        return chatMessageService.getMessages(roomId).stream()
-                .map(m -> {
-                    ChatMessageDTO dto = new ChatMessageDTO();
-                    dto.setId(m.getId());
-                    dto.setSenderId(m.getSender().getId());
-                    dto.setSenderNickname(m.getSender().getNickname());
-                    dto.setContent(m.getContent());
-                    dto.setCreatedAt(m.getCreatedAt());
+        int pageSize = (limit == null || limit <= 0) ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
 
-                    boolean mine = m.getSender().getId().equals(meId);
-                    dto.setMine(mine);
+        return chatMessageService.getMessagePage(roomId, before, pageSize).stream()
+                .map(m -> {
+                    ChatMessageDTO dto = ChatMessageDTO.from(m, meId, profileImageVersion(m.getSenderId()));
 
                     // 1:1 읽음 처리 로직
-                    boolean readByAll = false;
-                    if (!isGroupRoom && finalMinOthersLastRead != null && finalMinOthersLastRead >= m.getId()) {
-                        readByAll = true;
-                    }
-                    dto.setReadByAll(readByAll);
-
-                    // 그룹 채팅 읽음 처리 로직
-                    if (isGroupRoom) {
-                        int unreadCount = 0;
-                        Long senderId = m.getSender().getId();
-
-                        for (ChatParticipant cp : participants) {
-                            // 본인은 제외
-                            if (cp.getUser().getId().equals(senderId)) {
-                                continue;
-                            }
-                            Long lr = cp.getLastReadMessageId();
-                            if (lr == null || lr < m.getId()) {
-                                unreadCount++;
-                            }
-                        }
-                        dto.setUnreadMemberCount(unreadCount);
-                    } else {
-                        dto.setUnreadMemberCount(null);
-                    }
+                    dto.setReadByAll(!isGroupRoom && minOthersLastRead != null && minOthersLastRead >= m.getId());
+
+                    // 그룹 채팅 읽음 처리 로직 (보낸 사람 본인 제외, 안 읽은 인원 수)
+                    dto.setUnreadMemberCount(isGroupRoom ? receipts.unreadCount(m.getId(), m.getSenderId()) : null);
 
                     return dto;
                 })
                 .collect(Collectors.toList());
     }
 
+    // ───────────────── 1-2) 메시지를 읽은 사람 목록 ─────────────────
+    // GET /api/chat/rooms/{roomId}/messages/{messageId}/readers
+    @GetMapping("/rooms/{roomId}/messages/{messageId}/readers")
+    public List<ReaderDTO> getReaders(
+            @PathVariable Long roomId,
+            @PathVariable Long messageId,
+            HttpSession session
+    ) {
+        UserSnapshot loginUser = getLoginUser(session);
+        requireParticipant(roomId, loginUser.getId());
+
+        // 다른 방 메시지 id 면 404 (roomId 와 messageId 를 같이 조회)
+        ChatMessage message = chatMessageService.getMessage(roomId, messageId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "메시지를 찾을 수 없습니다."));
+
+        List<ChatParticipant> participants = chatParticipantRepository.findWithUserByChatRoom_Id(roomId);
+        Map<Long, User> usersById = participants.stream()
+                .collect(Collectors.toMap(cp -> cp.getUser().getId(), ChatParticipant::getUser));
+
+        return ReadReceiptIndex.of(participants, readMarkerBuffer.pendingFor(roomId))
+                .readerIds(message.getId(), message.getSender().getId()).stream()
+                .map(usersById::get)
+                .map(user -> ReaderDTO.from(user, profileImageVersion(user.getId())))
+                .collect(Collectors.toList());
+    }
+
+    // ───────────────── 1-1) 델타 동기화 (폴링/재접속용) ─────────────────
+    // GET /api/chat/rooms/{roomId}/messages?since=123&readSince=2025-01-01T12:00:00
+    // since 이후 새 메시지 + readSince 이후 바뀐 읽음 위치만 내려줌 (바뀐 게 없으면 빈 목록)
+    // readSince 없이 부르면 방 참가자 전체의 읽음 위치를 내려줌 (처음 한 번)
+    @GetMapping(value = "/rooms/{roomId}/messages", params = "since")
+    public ChatSyncResponse syncMessages(
+            @PathVariable Long roomId,
+            @RequestParam Long since,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime readSince,
+            HttpSession session
+    ) {
+        UserSnapshot loginUser = getLoginUser(session);
+        Long meId = loginUser.getId();
+        requireParticipant(roomId, meId);
+
+        // 다음 readSince 는 조회 전에 잡아둠 (조회 도중 커밋된 읽음 변경을 놓치지 않도록 약간 앞당김)
+        LocalDateTime syncedAt = LocalDateTime.now().minusSeconds(READ_SYNC_GRACE_SECONDS);
+
+        // limit + 1 개를 읽어서 더 남았는지 판단
+        List<ChatMessageSnapshot> newMessages = chatMessageService.getMessagesAfter(roomId, since, MAX_PAGE_SIZE + 1);
+        boolean hasMore = newMessages.size() > MAX_PAGE_SIZE;
+        if (hasMore) {
+            newMessages = newMessages.subList(0, MAX_PAGE_SIZE);
+        }
+
+        // DB 에 반영된 변경분 + 아직 버퍼에만 있는 읽음 위치
+        Map<Long, Long> readPositions = new LinkedHashMap<>();
+        for (ChatParticipant cp : chatRoomService.getReadStatesChangedSince(roomId, readSince)) {
+            readPositions.put(cp.getUser().getId(), cp.getLastReadMessageId());
+        }
+        readMarkerBuffer.pendingFor(roomId).forEach((userId, lastRead) ->
+                readPositions.merge(userId, lastRead, (db, buffered) -> db == null ? buffered : Math.max(db, buffered)));
+        List<ReadStateDTO> reads = readPositions.entrySet().stream()
+                .map(e -> new ReadStateDTO(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+
+        ChatSyncResponse res = new ChatSyncResponse();
+        res.setMessages(newMessages.stream()
+                .map(m -> ChatMessageDTO.from(m, meId, profileImageVersion(m.getSenderId())))
+                .collect(Collectors.toList()));
+        res.setReads(reads);
+        res.setLastMessageId(newMessages.isEmpty() ? since : newMessages.get(newMessages.size() - 1).getId());
+        res.setSyncedAt(syncedAt);
+        res.setHasMore(hasMore);
+        return res;
+    }
+
     // ───────────────── 2) 메시지 전송 ─────────────────
     // POST /api/chat/rooms/{roomId}/messages  body: { "content": "..." }
+    // 200 + 저장된 메시지, 저장이 늦어지면 202 (본문 없음)
     @PostMapping("/rooms/{roomId}/messages")
-    public ChatMessageDTO sendMessage(
+    public ResponseEntity<ChatMessageDTO> sendMessage(
             @PathVariable Long roomId,
             @RequestBody SendRequest req,
             HttpSession session
     ) {
-        User loginUser = getLoginUser(session);
+        UserSnapshot loginUser = getLoginUser(session);
 
-        if (req.getContent() == null || req.getContent().trim().isEmpty()) {
+        String content = (req.getContent() == null) ? "" : req.getContent().trim();
+        if (content.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "내용이 비어 있습니다.");
         }
+        if (content.length() > MAX_CONTENT_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "메시지는 " + MAX_CONTENT_LENGTH + "자까지 보낼 수 있습니다.");
+        }
 
         ChatRoom room = chatRoomService.getRoom(roomId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "채팅방을 찾을 수 없습니다."));
-
-        ChatMessage message = chatMessageService.sendMessage(room, loginUser, req.getContent().trim());
+        requireParticipant(roomId, loginUser.getId());
+
+        // 저장 전에 전송 속도 제한 (넘으면 429 + Retry-After)
+        // 없는 방 / 남의 방 id 로는 (방 수만큼) 제한 버킷이 생기지 않도록 참가자 확인 뒤에
+        writeRateLimits.checkChatSend(loginUser.getId(), roomId);
+
+        ChatMessageSnapshot message;
+        try {
+            message = chatMessageService.sendMessage(room, loginUser, content);
+        } catch (ChatMessagePendingException e) {
+            // 저장이 늦어지는 중 → 202 (나중에 저장되면 push / 동기화로 옴, 다시 보내면 중복이므로 실패로 알리지 않음)
+            return ResponseEntity.accepted().build();
+        }
         // 보낸 직후에는 상대가 아직 읽지 않았다고 보고 readByAll=false
-        ChatMessageDTO dto = ChatMessageDTO.from(message, loginUser.getId());
+        ChatMessageDTO dto = ChatMessageDTO.from(message, loginUser.getId(), loginUser.getProfileImageVersion());
         dto.setReadByAll(false);
-        return dto;
+        return ResponseEntity.ok(dto);
     }
 
     // ───────────────── 3) 1:1 방 생성/조회 (마이페이지 버튼) ─────────────────
@@ -151,116 +228,59 @@ public class ChatApiController {
             @PathVariable Long targetUserId,
             HttpSession session
     ) {
-        User loginUser = getLoginUser(session);
+        UserSnapshot loginUser = getLoginUser(session);
 
-        User targetUser = userService.getUserById(targetUserId);
+        UserSnapshot targetUser = userService.getSnapshot(targetUserId);
         if (targetUser == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "상대 사용자를 찾을 수 없습니다.");
         }
 
-        ChatRoom room = chatRoomService.getOrCreateDirectRoom(loginUser, targetUser);
+        // 이미 연 적 있는 방이면 캐시에서 바로 (DB 안 감)
+        Long roomId = chatRoomService.getOrCreateDirectRoomId(
+                userService.getUserReference(loginUser.getId()), userService.getUserReference(targetUser.getId()));
 
-        return new DirectRoomResponse(room.getId(), targetUser.getNickname());
+        return new DirectRoomResponse(roomId, targetUser.getNickname());
     }
 
     // ───────────────── 4) 내가 참여 중인 1:1 채팅방 목록 (left list) ─────────────────
     // GET /api/chat/my-direct
+    // 방마다 따로 조회하지 않고, 방 요약 컬럼 + 내 안 읽은 수 + 상대 닉네임을 쿼리 한 번으로
     @GetMapping("/my-direct")
     public List<DirectRoomListItem> myDirectRooms(HttpSession session) {
-        User me = getLoginUser(session);
-
-        // 내가 참여한 모든 참가 관계
-        List<ChatParticipant> parts = chatParticipantRepository.findByUser(me);
-
-        return parts.stream()
-                .map(ChatParticipant::getChatRoom)
-                .filter(r -> r.getType() == ChatRoomType.DIRECT)
-                .distinct()
-                .map(room -> {
-                    // 나 자신의 participant
-                    ChatParticipant myPart = chatParticipantRepository
-                            .findByChatRoom_IdAndUser_Id(room.getId(), me.getId())
-                            .orElseThrow();
-
-                    Long lastReadId = myPart.getLastReadMessageId();
-                    long baseId = (lastReadId == null ? 0L : lastReadId);
-
-                    long unreadCount = chatMessageRepository
-                            .countByChatRoom_IdAndIdGreaterThan(room.getId(), baseId);
-
-                    User partner = chatRoomService.getDirectPartner(room, me);
-                    String preview = chatMessageService.getLastMessagePreview(room);
-
-                    ChatMessage lastMsg =
-                            chatMessageRepository.findTop1ByChatRoom_IdOrderByCreatedAtDesc(room.getId());
-                    LocalDateTime lastCreatedAt = lastMsg != null ? lastMsg.getCreatedAt() : null;
+        UserSnapshot me = getLoginUser(session);
 
+        // 마지막 메시지 시간 기준 내림차순 (최근 대화 맨 위) - 정렬은 쿼리에서
+        return chatParticipantRepository.findDirectRoomRows(me.getId()).stream()
+                .map(row -> {
                     DirectRoomListItem dto = new DirectRoomListItem();
-                    dto.setRoomId(room.getId());
-                    dto.setPartnerNickname(partner != null ? partner.getNickname() : "상대방");
-                    dto.setLastMessagePreview(preview);
-                    dto.setUnreadCount(unreadCount);
-                    dto.setLastMessageCreatedAt(lastCreatedAt);
+                    dto.setRoomId(row.getRoomId());
+                    dto.setPartnerNickname(row.getPartnerNickname() != null ? row.getPartnerNickname() : "상대방");
+                    dto.setLastMessagePreview(row.getLastMessagePreview() != null ? row.getLastMessagePreview() : "");
+                    dto.setUnreadCount(readMarkerBuffer.effectiveUnread(
+                            row.getRoomId(), me.getId(), row.getUnreadCount(), row.getLastMessageId()));
+                    dto.setLastMessageCreatedAt(row.getLastMessageAt());
                     return dto;
                 })
-                // 마지막 메시지 시간 기준 내림차순 정렬 (최근 대화 맨 위)
-                .sorted(Comparator.comparing(
-                        DirectRoomListItem::getLastMessageCreatedAt,
-                        Comparator.nullsFirst(Comparator.naturalOrder())
-                ).reversed())
                 .collect(Collectors.toList());
     }
 
     // 그룹채팅
     @GetMapping("/my-groups")
     public List<GroupRoomListItem> myGroupRooms(HttpSession session) {
-        User me = getLoginUser(session);
-
-        // 내가 참여한 모든 참가 관계
-        List<ChatParticipant> parts = chatParticipantRepository.findByUser(me);
-
-        return parts.stream()
-                .map(ChatParticipant::getChatRoom)
-                .filter(r -> r.getType() == ChatRoomType.GROUP)
-                .distinct()
-                .map(room -> {
-                    // 나 자신의 participant
-                    ChatParticipant myPart = chatParticipantRepository
-                            .findByChatRoom_IdAndUser_Id(room.getId(), me.getId())
-                            .orElseThrow();
-
-                    Long lastReadId = myPart.getLastReadMessageId();
-                    long baseId = (lastReadId == null ? 0L : lastReadId);
-
-                    // 아직 안 읽은 메시지 개수
-                    long unreadCount = chatMessageRepository
-                            .countByChatRoom_IdAndIdGreaterThan(room.getId(), baseId);
-
-                    // 마지막 메시지
-                    ChatMessage lastMsg =
-                            chatMessageRepository.findTop1ByChatRoom_IdOrderByCreatedAtDesc(room.getId());
-                    LocalDateTime lastCreatedAt = lastMsg != null ? lastMsg.getCreatedAt() : null;
-
-                    String preview = chatMessageService.getLastMessagePreview(room);
+        UserSnapshot me = getLoginUser(session);
 
+        return chatParticipantRepository.findGroupRoomRows(me.getId()).stream()
+                .map(row -> {
                     GroupRoomListItem dto = new GroupRoomListItem();
-                    dto.setRoomId(room.getId());
-                    dto.setGroupTitle(
-                            room.getGroup() != null
-                                    ? room.getGroup().getTitle()
-                                    : room.getName()
-                    );
-                    dto.setName(room.getName());
-                    dto.setLastMessagePreview(preview);
-                    dto.setUnreadCount(unreadCount);
-                    dto.setLastMessageCreatedAt(lastCreatedAt);
+                    dto.setRoomId(row.getRoomId());
+                    dto.setGroupTitle(row.getGroupTitle() != null ? row.getGroupTitle() : row.getName());
+                    dto.setName(row.getName());
+                    dto.setLastMessagePreview(row.getLastMessagePreview() != null ? row.getLastMessagePreview() : "");
+                    dto.setUnreadCount(readMarkerBuffer.effectiveUnread(
+                            row.getRoomId(), me.getId(), row.getUnreadCount(), row.getLastMessageId()));
+                    dto.setLastMessageCreatedAt(row.getLastMessageAt());
                     return dto;
                 })
-                // 마지막 메시지 시간 기준 내림차순 정렬 (최근 대화 맨 위)
-                .sorted(Comparator.comparing(
-                        GroupRoomListItem::getLastMessageCreatedAt,
-                        Comparator.nullsFirst(Comparator.naturalOrder())
-                ).reversed())
                 .collect(Collectors.toList());
     }
 
@@ -272,28 +292,29 @@ public class ChatApiController {
             @RequestBody MarkReadRequest req,
             HttpSession session
     ) {
-        User loginUser = getLoginUser(session);
+        UserSnapshot loginUser = getLoginUser(session);
 
         ChatRoom room = chatRoomService.getRoom(roomId)
                 .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
 
-        chatRoomService.updateLastRead(room, loginUser, req.getLastMessageId());
+        chatRoomService.updateLastRead(room, userService.getUserReference(loginUser.getId()), req.getLastMessageId());
     }
 
     // ───────────────── 6) 레이아웃 상단 전체 안 읽은 개수 ─────────────────
     // GET /api/chat/unread-count
     @GetMapping("/unread-count")
     public UnreadCountDTO unreadCount(HttpSession session) {
-        User me = (User) session.getAttribute("user");
+        SessionUser me = (SessionUser) session.getAttribute("user");
         if (me == null) {
             UnreadCountDTO dto = new UnreadCountDTO();
             dto.setTotalUnread(0);
             return dto;
         }
 
-        List<DirectRoomListItem> directs = myDirectRooms(session);
-        long total = directs.stream()
-                .mapToLong(DirectRoomListItem::getUnreadCount)
+        // 안 읽은 게 있는 1:1 방만 한 번에 읽고, 아직 반영 안 된 읽음 처리를 덮어써서 합계
+        long total = chatParticipantRepository.findUnreadRoomRows(me.getId(), ChatRoomType.DIRECT).stream()
+                .mapToLong(row -> readMarkerBuffer.effectiveUnread(
+                        row.getRoomId(), me.getId(), row.getUnreadCount(), row.getLastMessageId()))
                 .sum();
 
         UnreadCountDTO dto = new UnreadCountDTO();
@@ -301,8 +322,59 @@ public class ChatApiController {
         return dto;
     }
 
+    // ───────────────── 7) 방 안 메시지 검색 ─────────────────
+    // GET /api/chat/rooms/{roomId}/search?q=모임&before=123&limit=20
+    // 최신순, 다음 페이지는 응답의 nextBefore 를 before 로 넘김
+    @GetMapping("/rooms/{roomId}/search")
+    public ChatSearchResponse search(
+            @PathVariable Long roomId,
+            @RequestParam String q,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer limit,
+            HttpSession session
+    ) {
+        UserSnapshot loginUser = getLoginUser(session);
+        requireParticipant(roomId, loginUser.getId());
+
+        int pageSize = (limit == null || limit <= 0) ? DEFAULT_SEARCH_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+
+        ChatSearchIndex.SearchPage page;
+        try {
+            page = chatSearchIndex.search(roomId, q, before, pageSize);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        ChatSearchResponse res = new ChatSearchResponse();
+        res.setHits(page.getHits().stream()
+                .map(hit -> ChatSearchHitDTO.from(hit, loginUser.getId(),
+                        profileImageVersion(hit.getMessage().getSender().getId())))
+                .collect(Collectors.toList()));
+        res.setNextBefore(page.getNextBefore());
+        return res;
+    }
+
     // ───────────────── DTO들 ─────────────────
 
+    @Data
+    public static class ChatSearchResponse {
+        private List<ChatSearchHitDTO> hits;
+        private Long nextBefore; // null 이면 마지막 페이지
+    }
+
+    @Data
+    public static class ChatSearchHitDTO {
+        private ChatMessageDTO message;
+        private List<int[]> highlights; // content 안에서 검색어 위치 [start, end)
+
+        public static ChatSearchHitDTO from(ChatSearchIndex.Hit hit, Long myId, long senderProfileImageVersion) {
+            ChatSearchHitDTO dto = new ChatSearchHitDTO();
+            dto.message = ChatMessageDTO.from(hit.getMessage(), myId, senderProfileImageVersion);
+            dto.highlights = hit.getHighlights();
+            return dto;
+        }
+    }
+
     @Data
     public static class SendRequest {
         private String content;
@@ -320,20 +392,40 @@ public class ChatApiController {
         private boolean readByAll;  // 1:1에서 상대가 읽었는지
         private Integer unreadMemberCount; // 그룹채팅용
 
-        public static ChatMessageDTO from(ChatMessage m, Long myId) {
+        // senderProfileImageVersion: 만드는 시점의 스냅샷 캐시 값 (메시지에 같이 저장/전달하지 않음)
+        public static ChatMessageDTO from(ChatMessage m, Long myId, long senderProfileImageVersion) {
+            return from(ChatMessageSnapshot.from(m), myId, senderProfileImageVersion);
+        }
+
+        public static ChatMessageDTO from(ChatMessageSnapshot m, Long myId, long senderProfileImageVersion) {
             ChatMessageDTO dto = new ChatMessageDTO();
             dto.id = m.getId();
-            dto.senderId = m.getSender().getId();
-            dto.senderNickname = m.getSender().getNickname();
-            dto.senderProfileImageUrl = "/user/profile-image/" + m.getSender().getId();
+            dto.senderId = m.getSenderId();
+            dto.senderNickname = m.getSenderNickname();
+            dto.senderProfileImageUrl = "/user/profile-image/" + m.getSenderId() + "?v=" + senderProfileImageVersion;
             dto.content = m.getContent();
             dto.createdAt = m.getCreatedAt();
-            dto.mine = m.getSender().getId().equals(myId);
+            dto.mine = m.getSenderId().equals(myId);
             dto.readByAll = false; // 기본값, getMessages에서 다시 채워줌
             dto.unreadMemberCount = null; // 기본값
 
             return dto;
         }
+
+        // WebSocket push 용: 받는 사람마다 다르므로 mine 은 클라이언트에서 senderId 로 판단
+        public static ChatMessageDTO from(ChatMessageSentEvent e, long senderProfileImageVersion) {
+            ChatMessageDTO dto = new ChatMessageDTO();
+            dto.id = e.getMessageId();
+            dto.senderId = e.getSenderId();
+            dto.senderNickname = e.getSenderNickname();
+            dto.senderProfileImageUrl = "/user/profile-image/" + e.getSenderId() + "?v=" + senderProfileImageVersion;
+            dto.content = e.getContent();
+            dto.createdAt = e.getCreatedAt();
+            dto.mine = false;
+            dto.readByAll = false;
+            dto.unreadMemberCount = null;
+            return dto;
+        }
     }
 
     @Data
@@ -368,6 +460,42 @@ public class ChatApiController {
         private LocalDateTime lastMessageCreatedAt;
     }
 
+    @Data
+    public static class ReaderDTO {
+        private Long userId;
+        private String nickname;
+        private String profileImageUrl;
+
+        public static ReaderDTO from(User user, long profileImageVersion) {
+            ReaderDTO dto = new ReaderDTO();
+            dto.userId = user.getId();
+            dto.nickname = user.getNickname();
+            dto.profileImageUrl = "/user/profile-image/" + user.getId() + "?v=" + profileImageVersion;
+            return dto;
+        }
+    }
+
+    // 델타 동기화 응답
+    @Data
+    public static class ChatSyncResponse {
+        private List<ChatMessageDTO> messages;  // since 이후 새 메시지 (오래된 순)
+        private List<ReadStateDTO> reads;       // readSince 이후 바뀐 읽음 위치
+        private Long lastMessageId;             // 다음 요청의 since
+        private LocalDateTime syncedAt;         // 다음 요청의 readSince
+        private boolean hasMore;                // 새 메시지가 한 번에 다 안 내려간 경우 (최신 페이지 다시 로딩)
+    }
+
+    @Data
+    public static class ReadStateDTO {
+        private Long userId;
+        private Long lastReadMessageId;
+
+        public ReadStateDTO(Long userId, Long lastReadMessageId) {
+            this.userId = userId;
+            this.lastReadMessageId = lastReadMessageId;
+        }
+    }
+
     @Data
     public static class MarkReadRequest {
         private Long lastMessageId;
@@ -0,0 +1,24 @@
+package com.moeim.chat;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+
+/**
+ * 보관 묶음에 메시지를 이어 붙였음 (모든 서버의 풀어 둔 묶음 캐시에서 제거)
+ */
+@Getter
+public class ChatArchiveSegmentChangedEvent {
+
+    private final Long roomId;
+    private final Long segmentId;
+
+    @JsonCreator
+    public ChatArchiveSegmentChangedEvent(
+            @JsonProperty("roomId") Long roomId,
+            @JsonProperty("segmentId") Long segmentId
+    ) {
+        this.roomId = roomId;
+        this.segmentId = segmentId;
+    }
+}
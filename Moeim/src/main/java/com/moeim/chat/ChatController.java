@@ -1,7 +1,8 @@
 package com.moeim.chat;
 
-import com.moeim.user.User;
+import com.moeim.user.SessionUser;
 import com.moeim.user.UserService;
+import com.moeim.user.UserSnapshot;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -32,12 +33,12 @@ public class ChatController {
                              HttpSession session,
                              Model model) {
 
-        User loginUser = (User) session.getAttribute("user");
+        SessionUser loginUser = (SessionUser) session.getAttribute("user");
         if (loginUser == null) {
             return "redirect:/user/login_form";
         }
 
-        User targetUser = userService.getUserById(targetUserId);
+        UserSnapshot targetUser = userService.getSnapshot(targetUserId);
         if (targetUser == null) {
             // 없는 유저일 때는 적당히 홈이나 에러 페이지로
             return "redirect:/";
@@ -49,7 +50,10 @@ public class ChatController {
         }
 
         // 두 사람 사이 1:1 방 찾거나 생성
-        ChatRoom room = chatRoomService.getOrCreateDirectRoom(loginUser, targetUser);
+        Long roomId = chatRoomService.getOrCreateDirectRoomId(
+                userService.getUserReference(loginUser.getId()), userService.getUserReference(targetUser.getId()));
+        ChatRoom room = chatRoomService.getRoom(roomId)
+                .orElseThrow(() -> new IllegalStateException("채팅방을 찾을 수 없습니다."));
 
         // 이 방 정보와 상대 정보 전달
         model.addAttribute("room", room);
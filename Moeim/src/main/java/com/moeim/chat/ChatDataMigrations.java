@@ -0,0 +1,32 @@
+package com.moeim.chat;
+
+import com.moeim.global.DataMigrations;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 컬럼 추가 전 데이터 보정 (DataMigrations 로 한 번만)
+ * 웹 서버가 요청을 받기 전(빈 초기화 직후)에 돌려서, 보정 도중 들어온 메시지의 증가분을 덮어쓰지 않음
+ * (서버 여러 대를 순서대로 올리는 중이면 이미 떠 있는 서버의 요청과는 겹칠 수 있음 → 첫 배포 때 한 번뿐)
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatDataMigrations implements SmartInitializingSingleton {
+
+    private final DataMigrations dataMigrations;
+    private final ChatParticipantRepository chatParticipantRepository;
+    private final ChatRoomRepository chatRoomRepository;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // unreadCount 컬럼이 생기기 전 데이터는 0 으로 들어가 있으므로 전체 재계산
+        dataMigrations.runOnce("chat-participant-unread-count", chatParticipantRepository::recountAllUnreadCounts);
+
+        // 방 목록 요약(마지막 메시지 id/미리보기/시간) 컬럼이 생기기 전 방들
+        dataMigrations.runOnce("chat-room-last-message-summary", () -> {
+            chatRoomRepository.backfillLastMessageIds();
+            chatRoomRepository.backfillLastMessageSummaries();
+        });
+    }
+}
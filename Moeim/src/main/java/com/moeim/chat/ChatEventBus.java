@@ -0,0 +1,23 @@
+package com.moeim.chat;
+
+import java.util.List;
+
+/**
+ * 채팅 이벤트 전달 통로 (메시지 저장 / 읽음 위치 / 방 참가자 변경 / 보관 묶음 변경)
+ * 이 서버의 리스너(ApplicationEventPublisher)에게 바로 전달하고, 서버가 여러 대면 다른 서버에도 전달
+ * 다른 서버에서 받은 이벤트도 그 서버의 리스너에게 같은 타입으로 발행되므로 리스너는 어디서 왔는지 신경 쓰지 않음
+ *
+ * - chat.event-bus.type=local (기본) : 서버 한 대, 그냥 스프링 이벤트 → LocalChatEventBus
+ * - chat.event-bus.type=jdbc         : 알림 테이블을 거쳐 다른 서버로 → JdbcChatEventBus
+ */
+public interface ChatEventBus {
+
+    void publish(Object event);
+
+    // 한 번에 여러 개 (묶음 저장된 메시지들)
+    default void publishAll(List<?> events) {
+        for (Object event : events) {
+            publish(event);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.moeim.chat;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 서버 간 채팅 이벤트 알림 (JdbcChatEventBus)
+ * 보낸 서버가 INSERT, 다른 서버들이 id 순으로 읽어 감, 잠깐 뒤 삭제
+ * 쓰기/조회는 JDBC 로 하고, 엔티티는 테이블 정의용
+ */
+@Entity
+@Getter
+@Table(name = "chat_event_notifications",
+        indexes = @Index(name = "idx_chat_event_notifications_created_at", columnList = "created_at"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatEventNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 보낸 서버 (자기가 보낸 건 건너뜀)
+    @Column(name = "node_id", nullable = false, length = 64)
+    private String nodeId;
+
+    @Column(nullable = false, length = 20)
+    private String type;
+
+    // 이벤트 JSON (1000자 메시지가 전부 이스케이프돼도 들어가게)
+    @Column(nullable = false, length = 8000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
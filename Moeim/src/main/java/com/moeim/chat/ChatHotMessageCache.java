@@ -0,0 +1,282 @@
+package com.moeim.chat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 최근에 읽힌 방의 마지막 N개 메시지를 메모리에 들고 있는 캐시
+ * - 방을 열 때(최신 페이지 조회) 채우고, 이후 새 메시지는 커밋 후 이벤트로 뒤에 붙임
+ * - 최신 페이지 / 델타 동기화 요청은 여기서 바로 응답 (chat_messages 조회 없음)
+ * - 전체 용량(바이트) 한도를 넘으면 가장 오래 안 읽힌 방부터, 오래 안 읽힌 방은 주기적으로 비움
+ *
+ * 방마다 "floorId 보다 큰 메시지는 전부 들고 있다"는 것만 믿고 응답하고, 모자라면 miss 로 DB 조회
+ */
+@Slf4j
+@Component
+public class ChatHotMessageCache {
+
+    private final Map<Long, RoomRing> rings = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    private final int messagesPerRoom;
+    private final long maxBytes;
+    private final Duration idleTimeout;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public ChatHotMessageCache(
+            MeterRegistry meterRegistry,
+            @Value("${chat.hot-cache.messages-per-room:100}") int messagesPerRoom,
+            @Value("${chat.hot-cache.max-bytes:33554432}") long maxBytes,
+            @Value("${chat.hot-cache.idle-minutes:30}") long idleMinutes
+    ) {
+        this.messagesPerRoom = messagesPerRoom;
+        this.maxBytes = maxBytes;
+        this.idleTimeout = Duration.ofMinutes(idleMinutes);
+
+        this.hits = Counter.builder("chat.hot_cache.requests").tag("result", "hit")
+                .description("최근 메시지 캐시에서 바로 응답한 조회 수").register(meterRegistry);
+        this.misses = Counter.builder("chat.hot_cache.requests").tag("result", "miss")
+                .description("최근 메시지 캐시에 없어서 DB 로 간 조회 수").register(meterRegistry);
+        Gauge.builder("chat.hot_cache.rooms", rings, Map::size).register(meterRegistry);
+        Gauge.builder("chat.hot_cache.bytes", totalBytes, AtomicLong::get).register(meterRegistry);
+    }
+
+    // ───────────────── 조회 ─────────────────
+
+    /**
+     * 최신 페이지 / beforeId 보다 오래된 페이지 (오래된 순), 캐시로 응답할 수 없으면 null
+     */
+    public List<ChatMessageSnapshot> page(Long roomId, Long beforeId, int limit) {
+        RoomRing ring = rings.get(roomId);
+        List<ChatMessageSnapshot> result = (ring != null) ? ring.page(beforeId, limit) : null;
+        return record(result);
+    }
+
+    /**
+     * sinceId 이후 메시지 최대 limit 개 (오래된 순), 캐시로 응답할 수 없으면 null
+     */
+    public List<ChatMessageSnapshot> after(Long roomId, long sinceId, int limit) {
+        RoomRing ring = rings.get(roomId);
+        List<ChatMessageSnapshot> result = (ring != null) ? ring.after(sinceId, limit) : null;
+        return record(result);
+    }
+
+    private List<ChatMessageSnapshot> record(List<ChatMessageSnapshot> result) {
+        if (result != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return result;
+    }
+
+    // ───────────────── 채우기 ─────────────────
+
+    /**
+     * DB 에서 최신 페이지를 읽기 "전에" 호출해서 방 버퍼를 먼저 등록
+     * (읽는 도중 커밋된 메시지는 이벤트로 버퍼에 들어오므로, 읽은 결과와 합치면 빠짐없음)
+     */
+    public RoomRing register(Long roomId) {
+        return rings.computeIfAbsent(roomId, id -> new RoomRing(messagesPerRoom));
+    }
+
+    /**
+     * register 이후 DB 에서 읽은 최신 페이지(오래된 순)를 버퍼에 합침
+     * complete = 방의 전체 히스토리를 다 읽었는지 (limit 보다 적게 나온 경우)
+     */
+    public void fill(RoomRing ring, List<ChatMessageSnapshot> latestPage, boolean complete) {
+        totalBytes.addAndGet(ring.merge(latestPage, complete));
+        evictIfOverCapacity();
+    }
+
+    // 새 메시지는 커밋된 뒤에만 버퍼에 붙임 (이미 열린 방만, 안 열린 방은 처음 읽힐 때 채움)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageSent(ChatMessageSentEvent event) {
+        RoomRing ring = rings.get(event.getRoomId());
+        if (ring == null) return;
+
+        totalBytes.addAndGet(ring.add(ChatMessageSnapshot.from(event)));
+        evictIfOverCapacity();
+    }
+
+    // 방이 지워지면 비움 (다른 서버에서 지운 것도 ChatEventBus 로 옴)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(ChatRoomMembershipEvent event) {
+        if (event.getType() == ChatRoomMembershipEvent.Type.ROOM_DELETED) {
+            evict(event.getRoomId());
+        }
+    }
+
+    // 방 삭제 등으로 더 이상 맞지 않게 된 경우
+    public void evict(Long roomId) {
+        RoomRing ring = rings.get(roomId);
+        if (ring != null) {
+            drop(roomId, ring);
+        }
+    }
+
+    // ───────────────── 비우기 ─────────────────
+
+    // 1분마다 오래 안 읽힌 방 비우기
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleRooms() {
+        long threshold = System.nanoTime() - idleTimeout.toNanos();
+        rings.forEach((roomId, ring) -> {
+            if (ring.lastAccessNanos - threshold < 0) {
+                drop(roomId, ring);
+            }
+        });
+    }
+
+    private void evictIfOverCapacity() {
+        if (totalBytes.get() <= maxBytes) return;
+
+        synchronized (this) {
+            if (totalBytes.get() <= maxBytes) return;
+
+            // 가장 오래 안 읽힌 방부터 한도 아래로 내려갈 때까지
+            List<Map.Entry<Long, RoomRing>> byAccess = new ArrayList<>(rings.entrySet());
+            byAccess.sort(Comparator.comparingLong(e -> e.getValue().lastAccessNanos));
+            for (Map.Entry<Long, RoomRing> e : byAccess) {
+                if (totalBytes.get() <= maxBytes) break;
+                drop(e.getKey(), e.getValue());
+            }
+            log.debug("최근 메시지 캐시 용량 초과로 정리: rooms={}, bytes={}", rings.size(), totalBytes.get());
+        }
+    }
+
+    private void drop(Long roomId, RoomRing ring) {
+        if (rings.remove(roomId, ring)) {
+            totalBytes.addAndGet(-ring.close());
+        }
+    }
+
+    /**
+     * 방 하나의 최근 메시지 버퍼 (id 오름차순, 최대 capacity 개)
+     * floorId 보다 큰 id 의 메시지는 전부 들고 있음 (등록만 되고 아직 못 채웠으면 아무것도 보장 안 함)
+     */
+    static final class RoomRing {
+
+        private final int capacity;
+        private final List<ChatMessageSnapshot> messages;
+        private long floorId = Long.MAX_VALUE;
+        private long bytes;
+        private boolean closed;
+        volatile long lastAccessNanos = System.nanoTime();
+
+        RoomRing(int capacity) {
+            this.capacity = capacity;
+            this.messages = new ArrayList<>(capacity + 1);
+        }
+
+        synchronized List<ChatMessageSnapshot> page(Long beforeId, int limit) {
+            lastAccessNanos = System.nanoTime();
+            if (closed || floorId == Long.MAX_VALUE) return null; // 아직 DB 에서 못 채움
+
+            // beforeId 보다 작은 것 중 floorId 위로 믿을 수 있는 구간
+            int end = (beforeId == null) ? messages.size() : lowerBound(beforeId);
+            int start = lowerBound(floorId + 1);
+            if (end - start >= limit) {
+                return List.copyOf(messages.subList(end - limit, end));
+            }
+            // 방 전체 히스토리를 다 들고 있으면 모자라도 그게 전부
+            if (floorId == 0) {
+                return List.copyOf(messages.subList(0, end));
+            }
+            return null;
+        }
+
+        synchronized List<ChatMessageSnapshot> after(long sinceId, int limit) {
+            lastAccessNanos = System.nanoTime();
+            if (closed || sinceId < floorId) return null;
+
+            int start = lowerBound(sinceId + 1);
+            int end = Math.min(messages.size(), start + limit);
+            return (start >= end) ? Collections.emptyList() : List.copyOf(messages.subList(start, end));
+        }
+
+        // 반환값: 늘어난 바이트 수
+        synchronized long add(ChatMessageSnapshot m) {
+            if (closed) return 0;
+            long before = bytes;
+            insert(m);
+            trim();
+            return bytes - before;
+        }
+
+        synchronized long merge(List<ChatMessageSnapshot> latestPage, boolean complete) {
+            lastAccessNanos = System.nanoTime();
+            if (closed || (latestPage.isEmpty() && !complete)) return 0;
+            long before = bytes;
+            for (ChatMessageSnapshot m : latestPage) {
+                insert(m);
+            }
+            long loadedFloor = complete ? 0 : latestPage.get(0).getId() - 1;
+            floorId = Math.min(floorId, loadedFloor);
+            trim();
+            return bytes - before;
+        }
+
+        // 반환값: 들고 있던 바이트 수 (전체 용량에서 빼기용)
+        synchronized long close() {
+            closed = true;
+            messages.clear();
+            long freed = bytes;
+            bytes = 0;
+            return freed;
+        }
+
+        // id 순서 유지하면서 넣기 (커밋 순서가 id 순서와 다를 수 있음, 중복은 무시)
+        private void insert(ChatMessageSnapshot m) {
+            int pos = lowerBound(m.getId());
+            if (pos < messages.size() && messages.get(pos).getId().equals(m.getId())) {
+                return;
+            }
+            messages.add(pos, m);
+            bytes += m.estimatedBytes();
+        }
+
+        // capacity 를 넘는 오래된 메시지 버리기 → 그만큼 floorId 를 올림
+        private void trim() {
+            while (messages.size() > capacity) {
+                ChatMessageSnapshot removed = messages.remove(0);
+                bytes -= removed.estimatedBytes();
+                if (floorId != Long.MAX_VALUE) {
+                    floorId = Math.max(floorId, removed.getId());
+                }
+            }
+        }
+
+        // messages[i].id >= id 인 첫 위치
+        private int lowerBound(long id) {
+            int lo = 0;
+            int hi = messages.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (messages.get(mid).getId() < id) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -8,13 +8,18 @@ import lombok.*;
 @Entity
 @Getter
 @Setter
-@Table(name = "chat_messages")
+@Table(name = "chat_messages",
+        indexes = @Index(name = "idx_chat_messages_room_id", columnList = "chat_room_id, id"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class ChatMessage extends BaseTimeEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // 묶음 저장(ChatMessageWriter)에서 묶음마다 50개 구간을 새로 받아 쓰는 시퀀스
+    // (JPA 로 저장하면 미리 받아 둔 id 를 쓰게 되어 방 안의 커밋 순서 = id 순서가 깨짐 → 저장은 ChatMessageWriter 로만)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_messages_seq")
+    @SequenceGenerator(name = "chat_messages_seq", sequenceName = "chat_messages_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,49 @@
+package com.moeim.chat;
+
+import com.moeim.global.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 오래된 채팅 메시지 묶음 (방 + 월 단위, gzip)
+ * chat_messages 에서 옮겨 온 메시지들을 id 순서대로 압축해서 한 줄에 저장 → ChatMessageArchiver
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "chat_message_archives",
+        indexes = @Index(name = "idx_chat_message_archives_room_to", columnList = "chat_room_id, to_message_id"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatMessageArchive extends BaseTimeEntity {
+
+    // 압축된 묶음 최대 크기 (1000자 메시지 1000개가 압축 없이 들어가도 남음)
+    static final int MAX_PAYLOAD_BYTES = 8 * 1024 * 1024;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "chat_room_id", nullable = false)
+    private Long chatRoomId;
+
+    // 이 묶음 메시지들이 쓰인 달 (1일)
+    @Column(nullable = false)
+    private LocalDate period;
+
+    // 묶음 안 메시지 id 범위 [fromMessageId, toMessageId]
+    @Column(name = "from_message_id", nullable = false)
+    private Long fromMessageId;
+
+    @Column(name = "to_message_id", nullable = false)
+    private Long toMessageId;
+
+    @Column(nullable = false)
+    private int messageCount;
+
+    @Column(nullable = false, length = MAX_PAYLOAD_BYTES)
+    private byte[] payload;
+}
@@ -0,0 +1,36 @@
+package com.moeim.chat;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ChatMessageArchiveRepository extends JpaRepository<ChatMessageArchive, Long> {
+
+    // 묶음 목록 (payload 는 안 읽음)
+    interface SegmentRow {
+        Long getId();
+        Long getFromMessageId();
+        Long getToMessageId();
+        int getMessageCount();
+    }
+
+    // beforeId 보다 작은 메시지가 들어 있는 묶음 (최근 묶음부터, (chat_room_id, to_message_id) 인덱스)
+    @Query("SELECT a.id AS id, a.fromMessageId AS fromMessageId, " +
+            "a.toMessageId AS toMessageId, a.messageCount AS messageCount " +
+            "FROM ChatMessageArchive a " +
+            "WHERE a.chatRoomId = :roomId AND a.fromMessageId < :beforeId " +
+            "ORDER BY a.toMessageId DESC")
+    List<SegmentRow> findSegmentsBefore(@Param("roomId") Long roomId,
+                                        @Param("beforeId") Long beforeId,
+                                        Pageable pageable);
+
+    @Query("SELECT a.payload FROM ChatMessageArchive a WHERE a.id = :id")
+    byte[] findPayload(@Param("id") Long id);
+
+    // 방의 가장 최근 묶음 (이어 붙이기용)
+    Optional<ChatMessageArchive> findFirstByChatRoomIdOrderByToMessageIdDesc(Long chatRoomId);
+}
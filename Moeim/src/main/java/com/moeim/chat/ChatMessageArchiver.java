@@ -0,0 +1,330 @@
+package com.moeim.chat;
+
+import com.moeim.user.User;
+import com.moeim.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 오래된 채팅 메시지 보관 (chat_messages → chat_message_archives)
+ * - 매일 새벽, 정해진 기간(기본 180일)보다 오래된 메시지를 방 + 월 단위 묶음으로 압축해서 옮기고 원본은 삭제
+ *   → chat_messages 와 그 인덱스는 "최근 기간" 크기로 유지됨
+ * - 히스토리를 위로 스크롤하다 chat_messages 에 더 없으면 묶음에서 이어서 읽음 (readBefore)
+ * - 오래된 기준은 id 로 자름: 저장 순서 = id 순서라서 created_at 이 기준 시각 이상인 첫 id 보다 작으면 전부 오래된 것
+ * - 서버가 여러 대여서 동시에 돌아도: 옮길 때 방 행을 잠그고, 지운 원본 수가 읽은 수와 다르면(다른 서버가 먼저 옮김) 롤백
+ * - 묶음을 고치면 ChatEventBus 로 모든 서버의 묶음 캐시에서 제거
+ * - 밀린 양이 많으면 오래 걸리므로 스케줄러 스레드가 아니라 @Async 실행기에서 (이벤트 버스 폴링/읽음 반영이 안 밀리게)
+ */
+@Slf4j
+@Component
+public class ChatMessageArchiver {
+
+    private static final String FIND_CUTOFF_ID_SQL =
+            "SELECT id FROM chat_messages WHERE created_at >= ? ORDER BY id LIMIT 1";
+    private static final String FIND_MAX_ID_SQL =
+            "SELECT COALESCE(MAX(id), 0) FROM chat_messages";
+    private static final String FIND_COLD_ROOMS_SQL =
+            "SELECT DISTINCT chat_room_id FROM chat_messages WHERE id < ?";
+    private static final String FIND_COLD_MESSAGES_SQL =
+            "SELECT id, sender_id, content, created_at FROM chat_messages " +
+            "WHERE chat_room_id = ? AND id < ? ORDER BY id LIMIT ?";
+    private static final String LOCK_ROOM_SQL =
+            "SELECT id FROM chatrooms WHERE id = ? FOR UPDATE";
+    private static final String DELETE_MESSAGES_SQL =
+            "DELETE FROM chat_messages WHERE chat_room_id = ? AND id >= ? AND id <= ?";
+    private static final String DELETE_SEARCH_POSTINGS_SQL =
+            "DELETE FROM chat_search_postings WHERE message_id >= ? AND message_id <= ? AND chat_room_id = ?";
+
+    // 한 번에 읽어 오는 묶음 수 / 풀어 둔 묶음을 메모리에 들고 있는 수
+    private static final int SEGMENT_FETCH_SIZE = 4;
+    private static final int SEGMENT_CACHE_SIZE = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ChatMessageArchiveRepository archiveRepository;
+    private final UserRepository userRepository;
+    private final ChatEventBus chatEventBus;
+
+    private final long afterDays;
+    private final int segmentSize;
+
+    // 지난 실행이 아직 안 끝났으면 건너뜀
+    private final AtomicBoolean archiving = new AtomicBoolean();
+
+    // 묶음 id -> 풀어 둔 메시지 (최근에 읽은 순으로 SEGMENT_CACHE_SIZE 개)
+    private final Map<Long, List<ArchivedMessage>> segmentCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, List<ArchivedMessage>> eldest) {
+                    return size() > SEGMENT_CACHE_SIZE;
+                }
+            });
+
+    public ChatMessageArchiver(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ChatMessageArchiveRepository archiveRepository,
+            UserRepository userRepository,
+            ChatEventBus chatEventBus,
+            @Value("${chat.archive.after-days:180}") long afterDays,
+            @Value("${chat.archive.segment-size:1000}") int segmentSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveRepository = archiveRepository;
+        this.userRepository = userRepository;
+        this.chatEventBus = chatEventBus;
+        this.afterDays = afterDays;
+        this.segmentSize = segmentSize;
+    }
+
+    // ───────────────── 보관 작업 ─────────────────
+
+    @Async
+    @Scheduled(cron = "${chat.archive.cron:0 30 4 * * *}")
+    public void archive() {
+        if (!archiving.compareAndSet(false, true)) {
+            log.info("채팅 메시지 보관: 지난 실행이 아직 진행 중이라 건너뜀");
+            return;
+        }
+        try {
+            archiveColdMessages();
+        } finally {
+            archiving.set(false);
+        }
+    }
+
+    private void archiveColdMessages() {
+        Timestamp cutoffTime = Timestamp.valueOf(LocalDateTime.now().minusDays(afterDays));
+
+        List<Long> firstHot = jdbcTemplate.queryForList(FIND_CUTOFF_ID_SQL, Long.class, cutoffTime);
+        long cutoffId = firstHot.isEmpty()
+                ? jdbcTemplate.queryForObject(FIND_MAX_ID_SQL, Long.class) + 1
+                : firstHot.get(0);
+
+        List<Long> roomIds = jdbcTemplate.queryForList(FIND_COLD_ROOMS_SQL, Long.class, cutoffId);
+        if (roomIds.isEmpty()) return;
+
+        long moved = 0;
+        for (Long roomId : roomIds) {
+            try {
+                moved += archiveRoom(roomId, cutoffId);
+            } catch (RuntimeException e) {
+                log.warn("채팅 메시지 보관 실패: roomId={}", roomId, e);
+            }
+        }
+        log.info("채팅 메시지 보관: {}개 방, {}건 (id < {})", roomIds.size(), moved, cutoffId);
+    }
+
+    private long archiveRoom(Long roomId, long cutoffId) {
+        long moved = 0;
+        while (true) {
+            List<ArchivedMessage> rows = jdbcTemplate.query(FIND_COLD_MESSAGES_SQL,
+                    (rs, i) -> new ArchivedMessage(
+                            rs.getLong("id"),
+                            rs.getLong("sender_id"),
+                            rs.getString("content"),
+                            rs.getTimestamp("created_at").toLocalDateTime()),
+                    roomId, cutoffId, segmentSize);
+            if (rows.isEmpty()) break;
+
+            // 같은 달끼리 (id 순 = 시간 순이라 연속 구간)
+            int start = 0;
+            for (int i = 1; i <= rows.size(); i++) {
+                if (i == rows.size() || !periodOf(rows.get(i)).equals(periodOf(rows.get(start)))) {
+                    List<ArchivedMessage> group = rows.subList(start, i);
+                    transactionTemplate.executeWithoutResult(status -> moveToArchive(roomId, group));
+                    start = i;
+                }
+            }
+            moved += rows.size();
+
+            if (rows.size() < segmentSize) break;
+        }
+        return moved;
+    }
+
+    // 한 트랜잭션에서 묶음 저장 + 원본/검색 색인 삭제 (읽는 쪽은 둘 중 한 곳에서 반드시 보게 됨)
+    private void moveToArchive(Long roomId, List<ArchivedMessage> group) {
+        LocalDate period = periodOf(group.get(0));
+        long fromId = group.get(0).id;
+        long toId = group.get(group.size() - 1).id;
+
+        // 같은 방을 옮기는 다른 서버와 줄 세움 → 원본이 읽은 그대로 남아 있을 때만 옮김 (아니면 예외로 롤백)
+        jdbcTemplate.queryForList(LOCK_ROOM_SQL, Long.class, roomId);
+        int deleted = jdbcTemplate.update(DELETE_MESSAGES_SQL, roomId, fromId, toId);
+        if (deleted != group.size()) {
+            throw new IllegalStateException("보관할 메시지가 그 사이 바뀌었습니다: roomId=" + roomId
+                    + ", 읽은 수=" + group.size() + ", 지운 수=" + deleted);
+        }
+        jdbcTemplate.update(DELETE_SEARCH_POSTINGS_SQL, fromId, toId, roomId);
+
+        // 같은 달의 마지막 묶음에 자리가 있으면 이어 붙임 (매일 조금씩 옮겨도 묶음이 잘게 쪼개지지 않게)
+        ChatMessageArchive last = archiveRepository.findFirstByChatRoomIdOrderByToMessageIdDesc(roomId).orElse(null);
+        if (last != null && last.getPeriod().equals(period)
+                && last.getMessageCount() + group.size() <= segmentSize) {
+            List<ArchivedMessage> merged = new ArrayList<>(decode(last.getPayload()));
+            merged.addAll(group);
+            last.setPayload(encode(merged));
+            last.setToMessageId(toId);
+            last.setMessageCount(merged.size());
+            chatEventBus.publish(new ChatArchiveSegmentChangedEvent(roomId, last.getId()));
+        } else {
+            archiveRepository.save(ChatMessageArchive.builder()
+                    .chatRoomId(roomId)
+                    .period(period)
+                    .fromMessageId(fromId)
+                    .toMessageId(toId)
+                    .messageCount(group.size())
+                    .payload(encode(group))
+                    .build());
+        }
+    }
+
+    // 커밋된 뒤에 제거 (다른 서버에서 고친 것도 ChatEventBus 로 옴)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSegmentChanged(ChatArchiveSegmentChangedEvent event) {
+        segmentCache.remove(event.getSegmentId());
+    }
+
+    // ───────────────── 읽기 ─────────────────
+
+    /**
+     * 보관된 메시지 중 beforeId 보다 오래된 것 limit 개 (오래된 순)
+     */
+    public List<ChatMessageSnapshot> readBefore(Long roomId, Long beforeId, int limit) {
+        long before = (beforeId == null) ? Long.MAX_VALUE : beforeId;
+        List<ArchivedMessage> collected = new ArrayList<>(limit); // 최신 → 오래된 순
+
+        while (collected.size() < limit) {
+            List<ChatMessageArchiveRepository.SegmentRow> segments =
+                    archiveRepository.findSegmentsBefore(roomId, before, PageRequest.of(0, SEGMENT_FETCH_SIZE));
+            if (segments.isEmpty()) break;
+
+            for (ChatMessageArchiveRepository.SegmentRow segment : segments) {
+                List<ArchivedMessage> messages = loadSegment(segment);
+                for (int i = messages.size() - 1; i >= 0 && collected.size() < limit; i--) {
+                    if (messages.get(i).id < before) {
+                        collected.add(messages.get(i));
+                    }
+                }
+                before = segment.getFromMessageId();
+                if (collected.size() == limit) break;
+            }
+        }
+        if (collected.isEmpty()) return Collections.emptyList();
+
+        Collections.reverse(collected);
+        return toSnapshots(roomId, collected);
+    }
+
+    private List<ArchivedMessage> loadSegment(ChatMessageArchiveRepository.SegmentRow segment) {
+        List<ArchivedMessage> cached = segmentCache.get(segment.getId());
+        // 이어 붙이기로 바뀐 묶음이면 다시 읽음
+        if (cached != null && cached.size() == segment.getMessageCount()) {
+            return cached;
+        }
+        List<ArchivedMessage> messages = decode(archiveRepository.findPayload(segment.getId()));
+        segmentCache.put(segment.getId(), messages);
+        return messages;
+    }
+
+    // 닉네임은 보관하지 않고 읽을 때 현재 값으로 (chat_messages 조회와 같은 결과)
+    private List<ChatMessageSnapshot> toSnapshots(Long roomId, List<ArchivedMessage> messages) {
+        Set<Long> senderIds = new HashSet<>();
+        for (ArchivedMessage m : messages) {
+            senderIds.add(m.senderId);
+        }
+        Map<Long, String> nicknames = userRepository.findAllById(senderIds).stream()
+                .collect(Collectors.toMap(User::getId, User::getNickname));
+
+        List<ChatMessageSnapshot> result = new ArrayList<>(messages.size());
+        for (ArchivedMessage m : messages) {
+            result.add(new ChatMessageSnapshot(
+                    m.id, roomId, m.senderId, nicknames.getOrDefault(m.senderId, "(알 수 없음)"), m.content, m.createdAt));
+        }
+        return result;
+    }
+
+    // ───────────────── 묶음 포맷 (gzip: 개수, [id, senderId, 작성 시각, 내용] ...) ─────────────────
+
+    static byte[] encode(List<ArchivedMessage> messages) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(messages.size());
+            for (ArchivedMessage m : messages) {
+                out.writeLong(m.id);
+                out.writeLong(m.senderId);
+                out.writeLong(m.createdAt.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(m.createdAt.getNano());
+                out.writeUTF(m.content);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<ArchivedMessage> decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(payload)))) {
+            int count = in.readInt();
+            List<ArchivedMessage> messages = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                long senderId = in.readLong();
+                LocalDateTime createdAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+                messages.add(new ArchivedMessage(id, senderId, in.readUTF(), createdAt));
+            }
+            return messages;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static LocalDate periodOf(ArchivedMessage m) {
+        return m.createdAt.toLocalDate().withDayOfMonth(1);
+    }
+
+    static final class ArchivedMessage {
+        private final long id;
+        private final long senderId;
+        private final String content;
+        private final LocalDateTime createdAt;
+
+        ArchivedMessage(long id, long senderId, String content, LocalDateTime createdAt) {
+            this.id = id;
+            this.senderId = senderId;
+            this.content = content;
+            this.createdAt = createdAt;
+        }
+    }
+}
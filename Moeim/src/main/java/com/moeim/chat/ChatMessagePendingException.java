@@ -0,0 +1,12 @@
+package com.moeim.chat;
+
+/**
+ * 메시지 저장 대기가 chat.write.timeout-ms 를 넘긴 경우
+ * 큐에 들어간 메시지는 뒤늦게 커밋될 수 있으므로 실패(다시 보내면 중복)가 아니라 "처리 중" 으로 응답
+ */
+public class ChatMessagePendingException extends RuntimeException {
+
+    public ChatMessagePendingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
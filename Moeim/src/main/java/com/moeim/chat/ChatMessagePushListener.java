@@ -0,0 +1,25 @@
+package com.moeim.chat;
+
+import com.moeim.user.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class ChatMessagePushListener {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final UserService userService;
+
+    // 커밋된 메시지만 방 구독자에게 push (롤백된 메시지가 나가지 않도록 AFTER_COMMIT)
+    // 묶음 저장기(ChatMessageWriter)는 JDBC 커밋 후 트랜잭션 밖에서 발행하므로 fallbackExecution
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageSent(ChatMessageSentEvent event) {
+        // 프로필 이미지 버전은 이벤트에 싣지 않고 받는 서버의 스냅샷 캐시에서 (메시지 목록 조회와 같은 URL)
+        long profileImageVersion = userService.getSnapshot(event.getSenderId()).getProfileImageVersion();
+        ChatApiController.ChatMessageDTO dto = ChatApiController.ChatMessageDTO.from(event, profileImageVersion);
+        messagingTemplate.convertAndSend(ChatWebSocketConfig.roomTopic(event.getRoomId()), dto);
+    }
+}
@@ -1,25 +1,31 @@
 package com.moeim.chat;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
-    // 방의 전체 메시지 (오래된 순)
-    List<ChatMessage> findByChatRoom_IdOrderByCreatedAtAsc(Long roomId);
+    // 방의 최신 메시지 N개 (id 내림차순, (chat_room_id, id) 인덱스 사용)
+    @EntityGraph(attributePaths = "sender")
+    List<ChatMessage> findByChatRoom_IdOrderByIdDesc(Long roomId, Pageable pageable);
 
-    // 방의 마지막 메시지 (최근 1개)
-    ChatMessage findTop1ByChatRoom_IdOrderByCreatedAtDesc(Long roomId);
+    // beforeId 보다 오래된 메시지 N개 (스크롤 올릴 때, keyset 페이징)
+    @EntityGraph(attributePaths = "sender")
+    List<ChatMessage> findByChatRoom_IdAndIdLessThanOrderByIdDesc(Long roomId, Long beforeId, Pageable pageable);
 
-    // 내가 읽은 마지막 ID 이후의 메시지 개수 (안 읽은 개수)
-    long countByChatRoom_IdAndIdGreaterThan(Long roomId, Long lastReadMessageId);
+    // sinceId 이후 새 메시지 N개 (오래된 순, 델타 동기화용)
+    @EntityGraph(attributePaths = "sender")
+    List<ChatMessage> findByChatRoom_IdAndIdGreaterThanOrderByIdAsc(Long roomId, Long sinceId, Pageable pageable);
 
-    // 벌크 삭제 메소드
-    @Modifying(clearAutomatically = true)
-    @Query("DELETE FROM ChatMessage cm WHERE cm.chatRoom = :room")
-    void bulkDeleteByChatRoom(@Param("room") ChatRoom chatRoom);
+    // 검색 후보 메시지들 (id 역순)
+    @EntityGraph(attributePaths = "sender")
+    List<ChatMessage> findByChatRoom_IdAndIdInOrderByIdDesc(Long roomId, Collection<Long> ids);
+
+    // 방 안의 특정 메시지
+    Optional<ChatMessage> findByIdAndChatRoom_Id(Long id, Long roomId);
 }
@@ -0,0 +1,51 @@
+package com.moeim.chat;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메시지 저장 이벤트 (커밋 후 구독자 push 용)
+ * 엔티티 대신 필요한 값만 복사해서 들고 다님 (트랜잭션 밖에서 lazy 로딩 안 하도록)
+ * 서버 간(JdbcChatEventBus) JSON 으로 오가므로 생성자 인자 이름을 명시 (-parameters 컴파일 옵션에 기대지 않게)
+ */
+@Getter
+public class ChatMessageSentEvent {
+
+    private final Long roomId;
+    private final Long messageId;
+    private final Long senderId;
+    private final String senderNickname;
+    private final String content;
+    private final LocalDateTime createdAt;
+
+    @JsonCreator
+    public ChatMessageSentEvent(
+            @JsonProperty("roomId") Long roomId,
+            @JsonProperty("messageId") Long messageId,
+            @JsonProperty("senderId") Long senderId,
+            @JsonProperty("senderNickname") String senderNickname,
+            @JsonProperty("content") String content,
+            @JsonProperty("createdAt") LocalDateTime createdAt
+    ) {
+        this.roomId = roomId;
+        this.messageId = messageId;
+        this.senderId = senderId;
+        this.senderNickname = senderNickname;
+        this.content = content;
+        this.createdAt = createdAt;
+    }
+
+    public static ChatMessageSentEvent from(ChatMessageSnapshot m) {
+        return new ChatMessageSentEvent(
+                m.getRoomId(),
+                m.getId(),
+                m.getSenderId(),
+                m.getSenderNickname(),
+                m.getContent(),
+                m.getCreatedAt()
+        );
+    }
+}
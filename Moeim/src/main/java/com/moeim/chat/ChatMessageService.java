@@ -1,11 +1,17 @@
 package com.moeim.chat;
 
-import com.moeim.user.User;
+import com.moeim.user.UserSnapshot;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -13,33 +19,76 @@ import java.util.List;
 public class ChatMessageService {
 
     private final ChatMessageRepository chatMessageRepository;
+    private final ChatHotMessageCache hotMessageCache;
+    private final ChatMessageWriter chatMessageWriter;
+    private final ChatMessageArchiver messageArchiver;
 
-    // 메시지 저장
-    public ChatMessage sendMessage(ChatRoom room, User sender, String content) {
-        ChatMessage message = ChatMessage.builder()
-                .chatRoom(room)
-                .sender(sender)
-                .content(content)
-                .build();
-
-        return chatMessageRepository.save(message);
+    // 메시지 저장 (동시에 들어온 전송과 묶어서 한 번에 커밋 → ChatMessageWriter)
+    // 커밋 후 방 구독자에게 push 됨 → ChatMessagePushListener
+    // 저장기가 커밋할 때까지 기다리므로 여기서는 트랜잭션(커넥션)을 잡지 않음
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ChatMessageSnapshot sendMessage(ChatRoom room, UserSnapshot sender, String content) {
+        return chatMessageWriter.write(room.getId(), sender.getId(), sender.getNickname(), content);
     }
 
-    // 방의 히스토리 조회 (roomId 사용)
+    // 방의 히스토리 한 페이지 조회 (keyset 페이징)
+    // beforeId 가 null 이면 최신 페이지, 아니면 beforeId 보다 오래된 페이지
+    // 화면에 그리기 편하게 오래된 순으로 돌려줌 (최근 메시지 캐시에 있으면 DB 안 봄)
+    // chat_messages 에서 모자라면 보관된 메시지에서 이어서 채움 (ChatMessageArchiver)
     @Transactional(readOnly = true)
-    public List<ChatMessage> getMessages(Long roomId) {
-        return chatMessageRepository.findByChatRoom_IdOrderByCreatedAtAsc(roomId);
+    public List<ChatMessageSnapshot> getMessagePage(Long roomId, Long beforeId, int limit) {
+        List<ChatMessageSnapshot> cached = hotMessageCache.page(roomId, beforeId, limit);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 최신 페이지는 캐시에 방을 먼저 등록하고 DB 에서 읽음 (읽는 도중 커밋된 메시지도 캐시에 남도록)
+        ChatHotMessageCache.RoomRing ring = (beforeId == null) ? hotMessageCache.register(roomId) : null;
+
+        Pageable pageable = PageRequest.of(0, limit);
+        List<ChatMessage> page = (beforeId == null)
+                ? chatMessageRepository.findByChatRoom_IdOrderByIdDesc(roomId, pageable)
+                : chatMessageRepository.findByChatRoom_IdAndIdLessThanOrderByIdDesc(roomId, beforeId, pageable);
+
+        List<ChatMessageSnapshot> result = new ArrayList<>(page.size());
+        for (ChatMessage m : page) {
+            result.add(ChatMessageSnapshot.from(m));
+        }
+        Collections.reverse(result);
+
+        if (result.size() < limit) {
+            Long olderThan = result.isEmpty() ? beforeId : result.get(0).getId();
+            List<ChatMessageSnapshot> archived = messageArchiver.readBefore(roomId, olderThan, limit - result.size());
+            if (!archived.isEmpty()) {
+                List<ChatMessageSnapshot> merged = new ArrayList<>(archived.size() + result.size());
+                merged.addAll(archived);
+                merged.addAll(result);
+                result = merged;
+            }
+        }
+
+        if (ring != null) {
+            hotMessageCache.fill(ring, result, result.size() < limit);
+        }
+        return result;
     }
 
-    // 최근 메시지 한 줄(리스트용)
+    // sinceId 이후 새 메시지 (오래된 순, 델타 동기화용)
     @Transactional(readOnly = true)
-    public String getLastMessagePreview(ChatRoom room) {
-        ChatMessage last = chatMessageRepository.findTop1ByChatRoom_IdOrderByCreatedAtDesc(room.getId());
-        if (last == null) return "";
-        String text = last.getContent();
-        if (text.length() > 30) {
-            return text.substring(0, 30) + "...";
+    public List<ChatMessageSnapshot> getMessagesAfter(Long roomId, Long sinceId, int limit) {
+        List<ChatMessageSnapshot> cached = hotMessageCache.after(roomId, sinceId, limit);
+        if (cached != null) {
+            return cached;
         }
-        return text;
+        return chatMessageRepository.findByChatRoom_IdAndIdGreaterThanOrderByIdAsc(
+                        roomId, sinceId, PageRequest.of(0, limit)).stream()
+                .map(ChatMessageSnapshot::from)
+                .toList();
+    }
+
+    // 방 안의 메시지 한 개
+    @Transactional(readOnly = true)
+    public Optional<ChatMessage> getMessage(Long roomId, Long messageId) {
+        return chatMessageRepository.findByIdAndChatRoom_Id(messageId, roomId);
     }
 }
@@ -0,0 +1,59 @@
+package com.moeim.chat;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 화면에 그릴 메시지 값만 복사해 둔 불변 객체
+ * 엔티티 대신 들고 다녀서 최근 메시지 캐시에 그대로 보관하고, 트랜잭션 밖에서도 안전하게 꺼내 씀
+ */
+@Getter
+@RequiredArgsConstructor
+public class ChatMessageSnapshot {
+
+    private final Long id;
+    private final Long roomId;
+    private final Long senderId;
+    private final String senderNickname;
+    private final String content;
+    private final LocalDateTime createdAt;
+
+    public static ChatMessageSnapshot from(ChatMessage m) {
+        return new ChatMessageSnapshot(
+                m.getId(),
+                m.getChatRoom().getId(),
+                m.getSender().getId(),
+                m.getSender().getNickname(),
+                m.getContent(),
+                m.getCreatedAt()
+        );
+    }
+
+    public static ChatMessageSnapshot from(ChatMessageSentEvent e) {
+        return new ChatMessageSnapshot(
+                e.getMessageId(),
+                e.getRoomId(),
+                e.getSenderId(),
+                e.getSenderNickname(),
+                e.getContent(),
+                e.getCreatedAt()
+        );
+    }
+
+    // 방 목록 미리보기용 한 줄 (30자 넘으면 자름)
+    public static String toPreview(String text) {
+        if (text.length() > 30) {
+            return text.substring(0, 30) + "...";
+        }
+        return text;
+    }
+
+    // 대략적인 메모리 크기 (캐시 용량 계산용: 객체 헤더/필드 + 문자열 2바이트씩)
+    long estimatedBytes() {
+        int chars = (content != null ? content.length() : 0)
+                + (senderNickname != null ? senderNickname.length() : 0);
+        return 160L + 2L * chars;
+    }
+}
@@ -0,0 +1,405 @@
+package com.moeim.chat;
+
+import com.moeim.global.DbStatementMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 채팅 메시지 묶음 저장기 (group commit)
+ * - 전송 요청을 큐에 넣고, 전용 스레드 하나가 짧은 시간(기본 3ms) 동안 모인 메시지를 방 구분 없이 한 번에 저장
+ * - id 는 커밋 직전에 방 행을 잠근 뒤 chat_messages_seq 에서 묶음 크기만큼 새로 받아서 INSERT 를 JDBC 배치로 보냄
+ * - 안 읽은 수 증가 / 방 요약 갱신 / 검색 색인도 같은 트랜잭션에서 배치로 처리, 커밋 후 메시지마다 이벤트 발행
+ * - 요청 스레드는 OSIV 로 커넥션을 쥐고 기다리므로, 메인 풀이 바닥나도 막히지 않게 작은 전용 풀을 씀
+ *
+ * 같은 방의 메시지는 커밋 순서 = id 순서 (델타 동기화 / 최근 메시지 캐시 / 방 요약 / 읽음 표시가 믿는 것)
+ * - 서버가 여러 대여도: 방 행을 잠근 다음에 id 를 받으므로, 같은 방에 먼저 커밋한 쪽의 id 가 항상 더 작음
+ * - 미리 받아 둔 id 를 나중에 쓰면 깨지므로, 묶음마다 새 구간을 받고 남은 id 는 버림 (빈 번호는 상관없음)
+ */
+@Slf4j
+@Component
+public class ChatMessageWriter {
+
+    static final String SEQUENCE_NAME = "chat_messages_seq";
+    static final int ID_ALLOCATION_SIZE = 50;
+
+    static final String LOCK_ROOMS_SQL =
+            "SELECT id FROM chatrooms WHERE id IN (%s) ORDER BY id FOR UPDATE";
+    private static final String INSERT_MESSAGE_SQL =
+            "INSERT INTO chat_messages (id, chat_room_id, sender_id, content, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INCREMENT_UNREAD_SQL =
+            "UPDATE chat_participants SET unread_count = unread_count + ? " +
+            "WHERE chat_room_id = ? AND user_id <> ?";
+    static final String INSERT_SEARCH_POSTING_SQL =
+            "INSERT INTO chat_search_postings (chat_room_id, token, message_id) VALUES (?, ?, ?)";
+    private static final String UPDATE_ROOM_SUMMARY_SQL =
+            "UPDATE chatrooms SET last_message_id = ?, last_message_preview = ?, last_message_at = ? " +
+            "WHERE id = ? AND (last_message_id IS NULL OR last_message_id < ?)";
+
+    private final DataSourceProperties dataSourceProperties;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ChatEventBus chatEventBus;
+    private final ObjectProvider<DbStatementMetrics.StatementCounter> statementCounter;
+
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final long sendTimeoutMillis;
+
+    private final BlockingQueue<PendingMessage> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread writerThread;
+    private HikariDataSource writerDataSource;
+    private DataSource writerConnections; // SQL 수 집계가 켜져 있으면 감싼 것
+    private String nextValSql;
+
+    public ChatMessageWriter(
+            DataSourceProperties dataSourceProperties,
+            EntityManagerFactory entityManagerFactory,
+            ChatEventBus chatEventBus,
+            ObjectProvider<DbStatementMetrics.StatementCounter> statementCounter,
+            @Value("${chat.write.batch-window-ms:3}") long batchWindowMillis,
+            @Value("${chat.write.max-batch-size:256}") int maxBatchSize,
+            @Value("${chat.write.timeout-ms:5000}") long sendTimeoutMillis
+    ) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.entityManagerFactory = entityManagerFactory;
+        this.chatEventBus = chatEventBus;
+        this.statementCounter = statementCounter;
+        this.batchWindowNanos = TimeUnit.MILLISECONDS.toNanos(batchWindowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() throws SQLException {
+        writerDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        writerDataSource.setPoolName("chat-writer");
+        writerDataSource.setMaximumPoolSize(2);
+        writerDataSource.setMinimumIdle(1);
+        DbStatementMetrics.StatementCounter counter = statementCounter.getIfAvailable();
+        writerConnections = (counter != null) ? counter.wrap(writerDataSource, "chat-writer") : writerDataSource;
+
+        nextValSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect()
+                .getSequenceSupport().getSequenceNextValString(SEQUENCE_NAME);
+        alignSequence();
+
+        running = true;
+        writerThread = new Thread(this::runLoop, "chat-message-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // 큐에 남은 메시지는 다 저장하고 종료 (10초 안에 못 끝내면 인터럽트 → 남은 건 실패 처리)
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+            if (writerThread.isAlive()) {
+                log.warn("채팅 메시지 저장기가 제때 끝나지 않아 중단: 남은 메시지={}", queue.size());
+                writerThread.interrupt();
+                writerThread.join(TimeUnit.SECONDS.toMillis(1));
+            }
+        }
+        if (writerDataSource != null) {
+            writerDataSource.close();
+        }
+    }
+
+    /**
+     * 메시지 한 개 저장 요청 → 같은 묶음이 커밋될 때까지 기다렸다가 저장된 메시지를 돌려줌
+     * timeout 안에 결과가 없으면 ChatMessagePendingException (아직 큐에 있어서 나중에 저장될 수 있음)
+     */
+    public ChatMessageSnapshot write(Long roomId, Long senderId, String senderNickname, String content) {
+        if (!running) {
+            throw new IllegalStateException("메시지 저장기가 중지된 상태입니다.");
+        }
+
+        PendingMessage pending = new PendingMessage(roomId, senderId, senderNickname, content);
+        queue.add(pending);
+        try {
+            return pending.future.get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("메시지 전송이 중단되었습니다.", e);
+        } catch (TimeoutException e) {
+            throw new ChatMessagePendingException("메시지 전송이 지연되고 있습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("메시지 저장에 실패했습니다.", e.getCause());
+        }
+    }
+
+    // ───────────────── 저장 스레드 ─────────────────
+
+    private void runLoop() {
+        List<PendingMessage> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // 첫 메시지 기준으로 batchWindow 동안 더 모으기
+                long deadline = System.nanoTime() + batchWindowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    PendingMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                queue.drainTo(batch, maxBatchSize - batch.size());
+
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                // 인터럽트 상태에서는 poll 이 바로 다시 예외라 계속 돌 수 없음 → 큐에 남은 것까지 실패로 알리고 끝냄
+                running = false;
+                queue.drainTo(batch);
+                batch.forEach(p -> p.future.completeExceptionally(e));
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("채팅 메시지 묶음 저장 중 오류", e);
+                batch.forEach(p -> p.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingMessage> batch) {
+        try {
+            insertInOneTransaction(batch);
+        } catch (SQLException e) {
+            // 묶음 중 하나(삭제된 방 등) 때문에 전부 실패하지 않도록 하나씩 다시 시도
+            log.warn("채팅 메시지 묶음 저장 실패, 하나씩 다시 저장: size={}, cause={}", batch.size(), e.getMessage());
+            for (PendingMessage p : batch) {
+                try {
+                    insertInOneTransaction(List.of(p));
+                } catch (SQLException single) {
+                    p.future.completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    private void insertInOneTransaction(List<PendingMessage> batch) throws SQLException {
+        try (Connection con = writerConnections.getConnection()) {
+            con.setAutoCommit(false);
+            try {
+                // 방 행 잠금 → id 할당 (하나씩 다시 시도할 때도 새로 받음, 롤백된 id 는 버림)
+                lockRooms(con, batch);
+                allocateIds(con, batch);
+                LocalDateTime now = LocalDateTime.now();
+                for (PendingMessage p : batch) {
+                    p.createdAt = now;
+                }
+
+                insertMessages(con, batch);
+                incrementUnreadCounts(con, batch);
+                updateRoomSummaries(con, batch);
+                insertSearchPostings(con, batch);
+                con.commit();
+            } catch (SQLException | RuntimeException e) {
+                con.rollback();
+                throw e;
+            }
+        }
+
+        // 커밋된 뒤에만 이벤트 발행 (push / 최근 메시지 캐시, 서버가 여러 대면 다른 서버에도) → 요청 스레드에 결과 전달
+        List<ChatMessageSnapshot> saved = new ArrayList<>(batch.size());
+        List<ChatMessageSentEvent> events = new ArrayList<>(batch.size());
+        for (PendingMessage p : batch) {
+            ChatMessageSnapshot snapshot = p.toSnapshot();
+            saved.add(snapshot);
+            events.add(ChatMessageSentEvent.from(snapshot));
+        }
+        try {
+            chatEventBus.publishAll(events);
+        } catch (RuntimeException e) {
+            log.warn("채팅 메시지 이벤트 처리 실패: size={}", events.size(), e);
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future.complete(saved.get(i));
+        }
+    }
+
+    // 이번 묶음의 방들을 id 순서로 잠금 (다른 서버의 저장기와 같은 순서라 교착 없음)
+    private void lockRooms(Connection con, List<PendingMessage> batch) throws SQLException {
+        List<Long> roomIds = batch.stream().map(p -> p.roomId).distinct().sorted().toList();
+        String placeholders = String.join(", ", Collections.nCopies(roomIds.size(), "?"));
+        try (PreparedStatement ps = con.prepareStatement(LOCK_ROOMS_SQL.formatted(placeholders))) {
+            for (int i = 0; i < roomIds.size(); i++) {
+                ps.setLong(i + 1, roomIds.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    // 잠금만
+                }
+            }
+        }
+    }
+
+    private void insertMessages(Connection con, List<PendingMessage> batch) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(INSERT_MESSAGE_SQL)) {
+            for (PendingMessage p : batch) {
+                Timestamp ts = Timestamp.valueOf(p.createdAt);
+                ps.setLong(1, p.id);
+                ps.setLong(2, p.roomId);
+                ps.setLong(3, p.senderId);
+                ps.setString(4, p.content);
+                ps.setTimestamp(5, ts);
+                ps.setTimestamp(6, ts);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // (방, 보낸 사람) 별로 묶어서 +n
+    private void incrementUnreadCounts(Connection con, List<PendingMessage> batch) throws SQLException {
+        Map<List<Long>, Integer> counts = new LinkedHashMap<>();
+        for (PendingMessage p : batch) {
+            counts.merge(List.of(p.roomId, p.senderId), 1, Integer::sum);
+        }
+        try (PreparedStatement ps = con.prepareStatement(INCREMENT_UNREAD_SQL)) {
+            for (Map.Entry<List<Long>, Integer> e : counts.entrySet()) {
+                ps.setInt(1, e.getValue());
+                ps.setLong(2, e.getKey().get(0));
+                ps.setLong(3, e.getKey().get(1));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // 방마다 이번 묶음의 마지막 메시지로 요약 갱신
+    private void updateRoomSummaries(Connection con, List<PendingMessage> batch) throws SQLException {
+        Map<Long, PendingMessage> lastByRoom = new LinkedHashMap<>();
+        for (PendingMessage p : batch) {
+            lastByRoom.put(p.roomId, p); // batch 는 id 오름차순
+        }
+        try (PreparedStatement ps = con.prepareStatement(UPDATE_ROOM_SUMMARY_SQL)) {
+            for (PendingMessage p : lastByRoom.values()) {
+                ps.setLong(1, p.id);
+                ps.setString(2, ChatMessageSnapshot.toPreview(p.content));
+                ps.setTimestamp(3, Timestamp.valueOf(p.createdAt));
+                ps.setLong(4, p.roomId);
+                ps.setLong(5, p.id);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // 메시지마다 bigram 색인 한 줄씩 (ChatSearchIndex 에서 조회)
+    private void insertSearchPostings(Connection con, List<PendingMessage> batch) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(INSERT_SEARCH_POSTING_SQL)) {
+            for (PendingMessage p : batch) {
+                for (String token : ChatSearchTokenizer.indexTokens(p.content)) {
+                    ps.setLong(1, p.roomId);
+                    ps.setString(2, token);
+                    ps.setLong(3, p.id);
+                    ps.addBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // ───────────────── id 할당 (pooled: nextval 값이 구간의 끝) ─────────────────
+
+    // 방을 잠근 뒤에 호출, 묶음 순서대로 id 오름차순 (구간을 다 못 쓰면 나머지는 버림)
+    private void allocateIds(Connection con, List<PendingMessage> batch) throws SQLException {
+        long nextId = 1;
+        long maxId = 0;
+        for (PendingMessage p : batch) {
+            if (nextId > maxId) {
+                long hi = nextSequenceValue(con);
+                nextId = hi - ID_ALLOCATION_SIZE + 1;
+                maxId = hi;
+            }
+            p.id = nextId++;
+        }
+    }
+
+    private long nextSequenceValue(Connection con) throws SQLException {
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(nextValSql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * IDENTITY 로 쌓인 기존 id 보다 시퀀스가 뒤처져 있으면 앞으로 당겨 둠
+     */
+    private void alignSequence() throws SQLException {
+        try (Connection con = writerConnections.getConnection();
+             Statement st = con.createStatement()) {
+            long maxExisting;
+            try (ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM chat_messages")) {
+                rs.next();
+                maxExisting = rs.getLong(1);
+            }
+            long hi = nextSequenceValue(con);
+            if (hi - ID_ALLOCATION_SIZE + 1 <= maxExisting) {
+                long restartWith = maxExisting + ID_ALLOCATION_SIZE;
+                st.execute("ALTER SEQUENCE " + SEQUENCE_NAME + " RESTART WITH " + restartWith);
+                log.info("{} 를 {} 부터 다시 시작 (기존 최대 id={})", SEQUENCE_NAME, restartWith, maxExisting);
+            }
+        }
+    }
+
+    private static final class PendingMessage {
+        private final Long roomId;
+        private final Long senderId;
+        private final String senderNickname;
+        private final String content;
+        private final CompletableFuture<ChatMessageSnapshot> future = new CompletableFuture<>();
+        private long id;
+        private LocalDateTime createdAt;
+
+        private PendingMessage(Long roomId, Long senderId, String senderNickname, String content) {
+            this.roomId = roomId;
+            this.senderId = senderId;
+            this.senderNickname = senderNickname;
+            this.content = content;
+        }
+
+        private ChatMessageSnapshot toSnapshot() {
+            return new ChatMessageSnapshot(id, roomId, senderId, senderNickname, content, createdAt);
+        }
+    }
+}
@@ -5,10 +5,15 @@ import com.moeim.user.User;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Getter
 @Setter
-@Table(name = "chat_participants")
+@Table(name = "chat_participants", indexes = {
+        @Index(name = "idx_chat_participants_room_user", columnList = "chat_room_id, user_id"),
+        @Index(name = "idx_chat_participants_user", columnList = "user_id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -27,4 +32,13 @@ public class ChatParticipant extends BaseTimeEntity {
 
     // 마지막으로 읽은 메시지 id (안 쓰면 null)
     private Long lastReadMessageId;
+
+    // lastReadMessageId 가 마지막으로 바뀐 시각 (델타 동기화에서 읽음 변경분만 골라낼 때 사용)
+    private LocalDateTime lastReadAt;
+
+    // 안 읽은 메시지 수 (내가 보낸 메시지 제외) - 전송 시 +1, 읽음 처리 시 재계산
+    // 벌크 UPDATE 로만 바꿈 (엔티티 flush 가 동시에 들어온 +1 을 덮어쓰지 않도록 updatable = false)
+    @Column(nullable = false, updatable = false)
+    @org.hibernate.annotations.ColumnDefault("0")
+    private long unreadCount;
 }
@@ -1,11 +1,14 @@
 package com.moeim.chat;
 
+import com.moeim.global.enums.ChatRoomType;
 import com.moeim.user.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,12 +20,83 @@ public interface ChatParticipantRepository extends JpaRepository<ChatParticipant
     // 특정 방의 모든 참가자
     List<ChatParticipant> findByChatRoom_Id(Long roomId);
 
+    // 특정 방의 모든 참가자 + 유저 (읽은 사람 목록처럼 닉네임까지 필요할 때)
+    @EntityGraph(attributePaths = "user")
+    List<ChatParticipant> findWithUserByChatRoom_Id(Long roomId);
+
     // 특정 방 + 특정 유저
     Optional<ChatParticipant> findByChatRoom_IdAndUser_Id(Long roomId, Long userId);
 
+    // 특정 방에서 since 이후 읽음 위치가 바뀐 참가자 (델타 동기화용)
+    List<ChatParticipant> findByChatRoom_IdAndLastReadAtAfter(Long roomId, LocalDateTime since);
+
+    // 참가 여부만 체크 (WebSocket 구독 권한 체크용)
+    boolean existsByChatRoom_IdAndUser_Id(Long roomId, Long userId);
+
+    // 전체 참가자 안 읽은 수 재계산 (컬럼 추가 전 데이터 보정용)
+    @Modifying
+    @Query("UPDATE ChatParticipant cp SET cp.unreadCount = " +
+            "(SELECT COUNT(m) FROM ChatMessage m " +
+            " WHERE m.chatRoom = cp.chatRoom AND m.id > COALESCE(cp.lastReadMessageId, 0) AND m.sender <> cp.user)")
+    int recountAllUnreadCounts();
+
+    interface UnreadRoomRow {
+        Long getRoomId();
+        long getUnreadCount();
+        Long getLastMessageId();
+    }
+
+    // 상단 배지용: 안 읽은 게 있는 내 방들 (방 타입별, 합계는 읽음 버퍼를 덮어써서 계산)
+    @Query("SELECT cp.chatRoom.id AS roomId, cp.unreadCount AS unreadCount, r.lastMessageId AS lastMessageId " +
+            "FROM ChatParticipant cp JOIN cp.chatRoom r " +
+            "WHERE cp.user.id = :userId AND r.type = :type AND cp.unreadCount > 0")
+    List<UnreadRoomRow> findUnreadRoomRows(@Param("userId") Long userId, @Param("type") ChatRoomType type);
+
+    // ───── 방 목록 (내 참가 행 + 방 요약을 한 번에, 최근 대화 순) ─────
+
+    interface DirectRoomRow {
+        Long getRoomId();
+        String getPartnerNickname();
+        String getLastMessagePreview();
+        LocalDateTime getLastMessageAt();
+        Long getLastMessageId();
+        long getUnreadCount();
+    }
+
+    interface GroupRoomRow {
+        Long getRoomId();
+        String getGroupTitle();
+        String getName();
+        String getLastMessagePreview();
+        LocalDateTime getLastMessageAt();
+        Long getLastMessageId();
+        long getUnreadCount();
+    }
+
+    // 1:1 방 목록 (상대 참가자 닉네임까지 join)
+    @Query("SELECT r.id AS roomId, pu.nickname AS partnerNickname, " +
+            "r.lastMessagePreview AS lastMessagePreview, r.lastMessageAt AS lastMessageAt, " +
+            "r.lastMessageId AS lastMessageId, " +
+            "me.unreadCount AS unreadCount " +
+            "FROM ChatParticipant me JOIN me.chatRoom r " +
+            "LEFT JOIN ChatParticipant p ON p.chatRoom = r AND p.user.id <> :userId " +
+            "LEFT JOIN p.user pu " +
+            "WHERE me.user.id = :userId AND r.type = com.moeim.global.enums.ChatRoomType.DIRECT " +
+            "ORDER BY r.lastMessageAt DESC NULLS LAST, r.id DESC")
+    List<DirectRoomRow> findDirectRoomRows(@Param("userId") Long userId);
+
+    // 그룹 방 목록
+    @Query("SELECT r.id AS roomId, g.title AS groupTitle, r.name AS name, " +
+            "r.lastMessagePreview AS lastMessagePreview, r.lastMessageAt AS lastMessageAt, " +
+            "r.lastMessageId AS lastMessageId, " +
+            "me.unreadCount AS unreadCount " +
+            "FROM ChatParticipant me JOIN me.chatRoom r LEFT JOIN r.group g " +
+            "WHERE me.user.id = :userId AND r.type = com.moeim.global.enums.ChatRoomType.GROUP " +
+            "ORDER BY r.lastMessageAt DESC NULLS LAST, r.id DESC")
+    List<GroupRoomRow> findGroupRoomRows(@Param("userId") Long userId);
 
-    // 벌크 삭제 메소드
+    // 벌크 삭제 메소드 (방 삭제 시, 참가자 수는 모임 정원 이내)
     @Modifying(clearAutomatically = true)
-    @Query("DELETE FROM ChatParticipant cp WHERE cp.chatRoom = :room")
-    void bulkDeleteByChatRoom(@Param("room") ChatRoom chatRoom);
+    @Query("DELETE FROM ChatParticipant cp WHERE cp.chatRoom.id = :roomId")
+    void bulkDeleteByChatRoomId(@Param("roomId") Long roomId);
 }
@@ -0,0 +1,27 @@
+package com.moeim.chat;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+
+/**
+ * 읽음 위치 기록 이벤트 (모든 서버의 읽음 버퍼에 반영 → 어느 서버로 조회해도 바로 보임)
+ */
+@Getter
+public class ChatReadMarkedEvent {
+
+    private final Long roomId;
+    private final Long userId;
+    private final Long messageId;
+
+    @JsonCreator
+    public ChatReadMarkedEvent(
+            @JsonProperty("roomId") Long roomId,
+            @JsonProperty("userId") Long userId,
+            @JsonProperty("messageId") Long messageId
+    ) {
+        this.roomId = roomId;
+        this.userId = userId;
+        this.messageId = messageId;
+    }
+}
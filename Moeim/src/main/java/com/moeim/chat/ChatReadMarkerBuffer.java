@@ -0,0 +1,155 @@
+package com.moeim.chat;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 읽음 위치(lastReadMessageId) 쓰기 버퍼
+ * - POST /rooms/{roomId}/read 는 메모리에 (방, 유저) 별 최대 id 만 남기고 바로 리턴
+ * - 1초마다 모아서 UPDATE 배치로 반영 (안 읽은 수 재계산 + lastReadAt 갱신 포함), 종료 시에도 한 번 반영
+ * - 반영 전까지 읽음 정보를 보는 쪽은 overlay 로 버퍼 값을 덮어써서 바로 보이게 함
+ * - 안 읽은 수 재계산은 묶음 저장기(ChatMessageWriter)와 같은 방 행 잠금 안에서
+ *   (잠금 없이 세면 저장 중인 메시지의 +1 과 엇갈려서 한 건이 두 번 세지거나 빠짐)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatReadMarkerBuffer {
+
+    private static final String FLUSH_SQL =
+            "UPDATE chat_participants SET last_read_message_id = ?, last_read_at = ?, " +
+            "unread_count = (SELECT COUNT(*) FROM chat_messages m " +
+            "                WHERE m.chat_room_id = ? AND m.id > ? AND m.sender_id <> ?) " +
+            "WHERE chat_room_id = ? AND user_id = ? " +
+            "AND (last_read_message_id IS NULL OR last_read_message_id < ?)";
+
+    // 한 트랜잭션에서 잠그는 방 수 (IN 목록 길이 / 저장기를 기다리게 하는 시간 제한)
+    private static final int ROOMS_PER_FLUSH = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // roomId -> (userId -> 아직 반영 안 된 최대 읽음 id)
+    private final Map<Long, Map<Long, Long>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 읽음 위치 기록 (이미 더 뒤까지 읽었으면 무시)
+     */
+    public void mark(Long roomId, Long userId, Long messageId) {
+        // 방 단위 compute 안에서 넣어야 flush 가 빈 방을 지우는 것과 엇갈리지 않음
+        pending.compute(roomId, (id, users) -> {
+            Map<Long, Long> target = (users != null) ? users : new ConcurrentHashMap<>();
+            target.merge(userId, messageId, Math::max);
+            return target;
+        });
+    }
+
+    // 읽음 이벤트 (이 서버에서 기록한 것 + 다른 서버에서 온 것 모두 여기로)
+    // 다른 서버 버퍼와 같은 값을 두 번 반영해도 UPDATE 조건(last_read_message_id < ?) 때문에 한 번만 바뀜
+    @EventListener
+    public void onReadMarked(ChatReadMarkedEvent event) {
+        mark(event.getRoomId(), event.getUserId(), event.getMessageId());
+    }
+
+    // 반영 대기 중인 값이 있는지 (있으면 이미 참가자 확인이 끝난 것)
+    public boolean contains(Long roomId, Long userId) {
+        Map<Long, Long> room = pending.get(roomId);
+        return room != null && room.containsKey(userId);
+    }
+
+    // 특정 방의 반영 대기 중인 읽음 위치들 (userId -> id)
+    public Map<Long, Long> pendingFor(Long roomId) {
+        Map<Long, Long> room = pending.get(roomId);
+        return (room == null) ? Collections.emptyMap() : Map.copyOf(room);
+    }
+
+    /**
+     * DB 값에 버퍼 값을 덮어쓴 읽음 위치
+     */
+    public Long effectiveLastRead(Long roomId, Long userId, Long dbValue) {
+        Map<Long, Long> room = pending.get(roomId);
+        Long buffered = (room == null) ? null : room.get(userId);
+        if (buffered == null) return dbValue;
+        return (dbValue == null) ? buffered : Math.max(dbValue, buffered);
+    }
+
+    /**
+     * 안 읽은 수 overlay: 방의 마지막 메시지까지 읽은 게 버퍼에 있으면 0, 아니면 DB 값
+     * (중간까지만 읽은 경우는 다음 반영 때 정확한 값으로 다시 계산됨)
+     */
+    public long effectiveUnread(Long roomId, Long userId, long dbUnread, Long lastMessageId) {
+        if (dbUnread == 0 || lastMessageId == null) return dbUnread;
+        Long lastRead = effectiveLastRead(roomId, userId, null);
+        return (lastRead != null && lastRead >= lastMessageId) ? 0 : dbUnread;
+    }
+
+    // ───────────────── 반영 ─────────────────
+
+    // 커밋된 뒤에 버퍼에서 지워야 읽는 쪽이 잠깐이라도 옛 값을 보지 않음 → 방 묶음마다 트랜잭션 끝난 뒤에 지움
+    @Scheduled(fixedDelayString = "${chat.read-marker.flush-interval-ms:1000}")
+    public void flush() {
+        // 방 id 순으로 (저장기와 같은 순서로 잠가야 서로 기다리며 멈추지 않음)
+        Map<Long, List<long[]>> byRoom = new TreeMap<>();
+        pending.forEach((roomId, users) -> users.forEach((userId, messageId) ->
+                byRoom.computeIfAbsent(roomId, id -> new ArrayList<>()).add(new long[]{roomId, userId, messageId})));
+        if (byRoom.isEmpty()) return;
+
+        List<Long> roomIds = new ArrayList<>(byRoom.keySet());
+        int count = 0;
+        for (int from = 0; from < roomIds.size(); from += ROOMS_PER_FLUSH) {
+            List<Long> chunk = roomIds.subList(from, Math.min(from + ROOMS_PER_FLUSH, roomIds.size()));
+            List<long[]> flushed = new ArrayList<>();
+            chunk.forEach(roomId -> flushed.addAll(byRoom.get(roomId)));
+
+            transactionTemplate.executeWithoutResult(status -> flushRooms(chunk, flushed));
+
+            // 반영한 값 그대로인 것만 지움 (그사이 더 뒤까지 읽었으면 다음 번에 반영)
+            for (long[] f : flushed) {
+                pending.computeIfPresent(f[0], (roomId, users) -> {
+                    users.remove(f[1], f[2]);
+                    return users.isEmpty() ? null : users;
+                });
+            }
+            count += flushed.size();
+        }
+        log.debug("읽음 위치 반영: {}건", count);
+    }
+
+    // 방 행을 잠근 뒤 다시 셈 → 저장기의 (메시지 INSERT + 안 읽은 수 +1) 은 전부 커밋됐거나 아직 시작 전
+    private void flushRooms(List<Long> roomIds, List<long[]> flushed) {
+        String placeholders = String.join(", ", Collections.nCopies(roomIds.size(), "?"));
+        jdbcTemplate.queryForList(ChatMessageWriter.LOCK_ROOMS_SQL.formatted(placeholders), Long.class, roomIds.toArray());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(flushed.size());
+        for (long[] f : flushed) {
+            args.add(new Object[]{f[2], now, f[0], f[2], f[1], f[0], f[1], f[2]});
+        }
+        jdbcTemplate.batchUpdate(FLUSH_SQL, args);
+    }
+
+    // 종료 시 남은 읽음 위치 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("종료 시 읽음 위치 반영 실패", e);
+        }
+    }
+}
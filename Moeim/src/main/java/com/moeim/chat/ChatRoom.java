@@ -6,7 +6,10 @@ import com.moeim.global.enums.ChatRoomType;
 import com.moeim.group.Group;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,6 +17,7 @@ import java.util.List;
 @Getter
 @Setter
 @Table(name = "chatrooms")
+@SQLRestriction("deleted_at IS NULL") // 삭제 표시된 방은 조회되지 않음 (실제 삭제는 DeletionJobRunner)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -40,6 +44,24 @@ public class ChatRoom extends BaseTimeEntity {
     @Column(unique = true, length = 100)
     private String roomKey;
 
+    // ───── 방 목록용 요약 (메시지 전송 시 갱신, 목록 조회 때 메시지 테이블을 안 보도록) ─────
+    private Long lastMessageId;
+
+    @Column(length = 100)
+    private String lastMessagePreview;
+
+    private LocalDateTime lastMessageAt;
+
+    // 기존 메시지까지 검색 색인이 끝났는지 (새로 만든 방은 처음부터 색인되므로 true, 기존 방은 컬럼 기본값 false)
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    @Builder.Default
+    private boolean searchIndexed = true;
+
+    // 삭제 표시 시각 (자식 행 정리가 끝나면 행 자체가 지워짐)
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     // 참여자 목록
     @OneToMany(mappedBy = "chatRoom", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
@@ -0,0 +1,45 @@
+package com.moeim.chat;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+
+/**
+ * 방 참가자 변경 이벤트 (메모리에 방 정보를 들고 있는 쪽이 맞춰서 비우도록)
+ */
+@Getter
+public class ChatRoomMembershipEvent {
+
+    public enum Type {
+        JOINED,
+        LEFT,
+        ROOM_DELETED   // userId 없음
+    }
+
+    private final Type type;
+    private final Long roomId;
+    private final Long userId;
+
+    @JsonCreator
+    public ChatRoomMembershipEvent(
+            @JsonProperty("type") Type type,
+            @JsonProperty("roomId") Long roomId,
+            @JsonProperty("userId") Long userId
+    ) {
+        this.type = type;
+        this.roomId = roomId;
+        this.userId = userId;
+    }
+
+    public static ChatRoomMembershipEvent joined(Long roomId, Long userId) {
+        return new ChatRoomMembershipEvent(Type.JOINED, roomId, userId);
+    }
+
+    public static ChatRoomMembershipEvent left(Long roomId, Long userId) {
+        return new ChatRoomMembershipEvent(Type.LEFT, roomId, userId);
+    }
+
+    public static ChatRoomMembershipEvent roomDeleted(Long roomId) {
+        return new ChatRoomMembershipEvent(Type.ROOM_DELETED, roomId, null);
+    }
+}
@@ -3,7 +3,11 @@ package com.moeim.chat;
 import com.moeim.global.enums.ChatRoomType;
 import com.moeim.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +16,9 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
     // 1:1 채팅방
     Optional<ChatRoom> findByRoomKey(String roomKey);
 
+    @Query("SELECT r.id FROM ChatRoom r WHERE r.roomKey = :roomKey")
+    Optional<Long> findIdByRoomKey(@Param("roomKey") String roomKey);
+
     // 그룹 채팅방
     Optional<ChatRoom> findByGroup_Id(Long groupId);
 
@@ -19,4 +26,26 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
     List<ChatRoom> findDistinctByParticipants_User(User user);
 
     List<ChatRoom> findByType(ChatRoomType type);
+
+    // 삭제 표시 (그룹 연결도 끊어서 그룹 쪽 정리와 따로 지울 수 있게)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ChatRoom r SET r.deletedAt = :now, r.group = NULL WHERE r.id = :roomId")
+    int markDeleted(@Param("roomId") Long roomId, @Param("now") LocalDateTime now);
+
+    // 요약 컬럼이 생기기 전 방들 보정 (1단계: 마지막 메시지 id)
+    @Modifying
+    @Query("UPDATE ChatRoom r SET r.lastMessageId = " +
+            "(SELECT MAX(m.id) FROM ChatMessage m WHERE m.chatRoom = r) " +
+            "WHERE r.lastMessageId IS NULL")
+    int backfillLastMessageIds();
+
+    // 요약 컬럼이 생기기 전 방들 보정 (2단계: 미리보기/시간)
+    @Modifying
+    @Query("UPDATE ChatRoom r SET " +
+            "r.lastMessageAt = (SELECT m.createdAt FROM ChatMessage m WHERE m.id = r.lastMessageId), " +
+            "r.lastMessagePreview = (SELECT CASE WHEN LENGTH(m.content) > 30 " +
+            "   THEN CONCAT(SUBSTRING(m.content, 1, 30), '...') ELSE m.content END " +
+            "   FROM ChatMessage m WHERE m.id = r.lastMessageId) " +
+            "WHERE r.lastMessageId IS NOT NULL AND r.lastMessageAt IS NULL")
+    int backfillLastMessageSummaries();
 }
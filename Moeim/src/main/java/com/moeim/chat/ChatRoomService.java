@@ -1,13 +1,22 @@
 package com.moeim.chat;
 
+import com.moeim.global.DeletionJob;
+import com.moeim.global.DeletionJobRunner;
 import com.moeim.global.enums.ChatRoomType;
 import com.moeim.group.Group;
 import com.moeim.user.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -16,8 +25,24 @@ import java.util.Optional;
 public class ChatRoomService {
 
     private final ChatRoomRepository chatRoomRepository;
+    private final ChatReadMarkerBuffer readMarkerBuffer;
     private final ChatParticipantRepository chatParticipantRepository;
-    private final ChatMessageRepository chatMessageRepository;
+    private final DeletionJobRunner deletionJobRunner;
+    private final ChatEventBus chatEventBus;
+    private final TransactionTemplate transactionTemplate;
+
+    // 1:1 방 roomKey -> roomId (방이 지워지기 전에는 안 바뀌므로 개수만 제한, 최근 사용 순)
+    private static final int DIRECT_ROOM_CACHE_SIZE = 10_000;
+    private final Map<String, Long> directRoomIds = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > DIRECT_ROOM_CACHE_SIZE;
+        }
+    };
+
+    // 같은 두 사람이 동시에 처음 열 때 한 번만 만들도록 roomKey 별 잠금 (고정 개수로 나눠 씀)
+    private static final int DIRECT_ROOM_LOCK_STRIPES = 64;
+    private final Object[] directRoomLocks = newLocks(DIRECT_ROOM_LOCK_STRIPES);
 
     // 방 조회
     @Transactional(readOnly = true)
@@ -69,53 +94,109 @@ public class ChatRoomService {
                 .build();
 
         chatParticipantRepository.save(participant);
+        chatEventBus.publish(ChatRoomMembershipEvent.joined(room.getId(), user.getId()));
     }
 
-    // 1:1 채팅방 조회/생성
-    public ChatRoom getOrCreateDirectRoom(User user1, User user2) {
+    /**
+     * 1:1 채팅방 id 조회/생성
+     * - 한 번 찾은 방은 캐시에서 바로 (DB 안 감)
+     * - 처음 열 때는 roomKey 잠금 안에서 찾고 없으면 생성 → 같은 서버에서 동시에 열어도 방은 하나
+     * - 다른 서버가 먼저 만들어서 roomKey 유니크 제약에 걸리면 그 방을 다시 읽어서 사용
+     * 생성은 자체 트랜잭션으로 (제약 위반이 호출한 쪽 트랜잭션까지 망가뜨리지 않도록)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Long getOrCreateDirectRoomId(User user1, User user2) {
 
         if (user1.getId().equals(user2.getId())) {
             throw new IllegalArgumentException("자기 자신에게는 메시지를 보낼 수 없습니다.");
         }
 
-        Long a = user1.getId();
-        Long b = user2.getId();
+        String roomKey = directRoomKey(user1.getId(), user2.getId());
 
-        Long minId = Math.min(a, b);
-        Long maxId = Math.max(a, b);
+        Long cached = cachedDirectRoomId(roomKey);
+        if (cached != null) {
+            return cached;
+        }
 
-        String roomKey = "DIRECT_" + minId + "_" + maxId;
+        synchronized (directRoomLocks[Math.floorMod(roomKey.hashCode(), directRoomLocks.length)]) {
+            cached = cachedDirectRoomId(roomKey);
+            if (cached != null) {
+                return cached;
+            }
+
+            Long roomId = chatRoomRepository.findIdByRoomKey(roomKey)
+                    .orElseGet(() -> createDirectRoom(roomKey, user1, user2));
+            synchronized (directRoomIds) {
+                directRoomIds.put(roomKey, roomId);
+            }
+            return roomId;
+        }
+    }
 
-        // 이미 방이 있으면 그대로 사용
-        return chatRoomRepository.findByRoomKey(roomKey)
-                .orElseGet(() -> {
-                    // 없으면 새로 생성
-                    ChatRoom room = ChatRoom.builder()
-                            .name(user1.getNickname() + " · " + user2.getNickname())
-                            .type(ChatRoomType.DIRECT)
-                            .roomKey(roomKey)
-                            .build();
+    private Long createDirectRoom(String roomKey, User user1, User user2) {
+        try {
+            return transactionTemplate.execute(status -> {
+                ChatRoom room = ChatRoom.builder()
+                        .name(user1.getNickname() + " · " + user2.getNickname())
+                        .type(ChatRoomType.DIRECT)
+                        .roomKey(roomKey)
+                        .build();
+
+                chatRoomRepository.saveAndFlush(room); // 제약 위반을 여기서 바로 확인
+
+                // 참가자 2명 등록
+                ChatParticipant p1 = ChatParticipant.builder()
+                        .chatRoom(room)
+                        .user(user1)
+                        .build();
+                ChatParticipant p2 = ChatParticipant.builder()
+                        .chatRoom(room)
+                        .user(user2)
+                        .build();
+
+                chatParticipantRepository.save(p1);
+                chatParticipantRepository.save(p2);
+                chatEventBus.publish(ChatRoomMembershipEvent.joined(room.getId(), user1.getId()));
+                chatEventBus.publish(ChatRoomMembershipEvent.joined(room.getId(), user2.getId()));
+
+                return room.getId();
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 다른 서버에서 같은 방을 먼저 만든 경우
+            return chatRoomRepository.findIdByRoomKey(roomKey).orElseThrow(() -> e);
+        }
+    }
 
-                    chatRoomRepository.save(room);
+    private Long cachedDirectRoomId(String roomKey) {
+        synchronized (directRoomIds) {
+            return directRoomIds.get(roomKey);
+        }
+    }
 
-                    // 참가자 2명 등록
-                    ChatParticipant p1 = ChatParticipant.builder()
-                            .chatRoom(room)
-                            .user(user1)
-                            .build();
-                    ChatParticipant p2 = ChatParticipant.builder()
-                            .chatRoom(room)
-                            .user(user2)
-                            .build();
+    private static String directRoomKey(Long a, Long b) {
+        return "DIRECT_" + Math.min(a, b) + "_" + Math.max(a, b);
+    }
 
-                    chatParticipantRepository.save(p1);
-                    chatParticipantRepository.save(p2);
+    private static Object[] newLocks(int count) {
+        Object[] locks = new Object[count];
+        for (int i = 0; i < count; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
 
-                    return room;
-                });
+    // 방이 지워지면 캐시에서도 제거 (다른 서버에서 지운 것도 ChatEventBus 로 옴)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onMembershipChanged(ChatRoomMembershipEvent event) {
+        if (event.getType() == ChatRoomMembershipEvent.Type.ROOM_DELETED) {
+            synchronized (directRoomIds) {
+                directRoomIds.values().removeIf(id -> id.equals(event.getRoomId()));
+            }
+        }
     }
 
-    // 랜덤 채팅방 생성 (매칭 큐에서 두 유저를 가져왔다는 가정)
+    // 랜덤 채팅방 생성 (RandomChatMatcher 에서 짝이 된 두 유저)
     public ChatRoom createRandomRoom(User u1, User u2) {
         ChatRoom room = ChatRoom.builder()
                 .type(ChatRoomType.RANDOM)
@@ -134,6 +215,8 @@ public class ChatRoomService {
 
         chatParticipantRepository.save(p1);
         chatParticipantRepository.save(p2);
+        chatEventBus.publish(ChatRoomMembershipEvent.joined(room.getId(), u1.getId()));
+        chatEventBus.publish(ChatRoomMembershipEvent.joined(room.getId(), u2.getId()));
 
         room.getParticipants().add(p1);
         room.getParticipants().add(p2);
@@ -183,28 +266,42 @@ public class ChatRoomService {
 
     /**
      * 방에서 '나'의 lastReadMessageId 업데이트
+     * 바로 쓰지 않고 버퍼에 모았다가 주기적으로 한 번에 반영 (안 읽은 수 재계산, lastReadAt 도 그때 같이)
      */
+    @Transactional(readOnly = true)
     public void updateLastRead(ChatRoom room, User me, Long lastMessageId) {
         if (lastMessageId == null) return;
 
-        ChatParticipant cp = getMyParticipant(room, me);
-        Long current = cp.getLastReadMessageId();
-        if (current == null || current < lastMessageId) {
-            cp.setLastReadMessageId(lastMessageId);
+        // 버퍼에 이미 있으면 참가자 확인은 끝난 것
+        if (!readMarkerBuffer.contains(room.getId(), me.getId())
+                && !chatParticipantRepository.existsByChatRoom_IdAndUser_Id(room.getId(), me.getId())) {
+            throw new IllegalArgumentException("이 방에 참가자가 아닙니다.");
         }
+        // 버퍼 기록은 이벤트로 (서버가 여러 대면 다른 서버 버퍼에도 들어가서 어디서 읽어도 바로 보임)
+        chatEventBus.publish(new ChatReadMarkedEvent(room.getId(), me.getId(), lastMessageId));
     }
 
-    // 벌크 삭제
+    /**
+     * 델타 동기화용: since 이후 읽음 위치가 바뀐 참가자들 (since 가 null 이면 방 전체 참가자)
+     */
+    @Transactional(readOnly = true)
+    public List<ChatParticipant> getReadStatesChangedSince(Long roomId, LocalDateTime since) {
+        if (since == null) {
+            return chatParticipantRepository.findByChatRoom_Id(roomId);
+        }
+        return chatParticipantRepository.findByChatRoom_IdAndLastReadAtAfter(roomId, since);
+    }
+
+    // 방 삭제: 삭제 표시 + 참가자 제거까지만 여기서 (목록/권한에서 바로 빠짐)
+    // 메시지/검색 색인/보관본은 수가 많으므로 DeletionJobRunner 가 나눠서 지움
     @Transactional
     public void deleteChatRoom(Long chatRoomId) {
-
-        ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
-                .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
-
-        chatParticipantRepository.bulkDeleteByChatRoom(chatRoom);
-        chatMessageRepository.bulkDeleteByChatRoom(chatRoom);
-
-        chatRoomRepository.delete(chatRoom);
+        if (chatRoomRepository.markDeleted(chatRoomId, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("채팅방을 찾을 수 없습니다.");
+        }
+        chatParticipantRepository.bulkDeleteByChatRoomId(chatRoomId);
+        deletionJobRunner.enqueue(DeletionJob.TargetType.CHAT_ROOM, chatRoomId);
+        chatEventBus.publish(ChatRoomMembershipEvent.roomDeleted(chatRoomId));
     }
 
     // 그룹 채팅방 나가기
@@ -228,11 +325,12 @@ public class ChatRoomService {
                 .ifPresent(cp -> {
                     chatParticipantRepository.delete(cp);
                     room.getParticipants().remove(cp);
+                    chatEventBus.publish(ChatRoomMembershipEvent.left(room.getId(), user.getId()));
                 });
 
         // 아무도 안 남았으면 방 자체를 지워도 됨 (선택 사항)
         if (room.getParticipants().isEmpty()) {
-            chatRoomRepository.delete(room);
+            deleteChatRoom(room.getId());
         }
     }
 }
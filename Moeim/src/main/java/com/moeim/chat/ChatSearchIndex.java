@@ -0,0 +1,197 @@
+package com.moeim.chat;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 방 안 메시지 검색 (bigram 역색인, chat_search_postings)
+ * - 새 메시지는 ChatMessageWriter 가 저장하면서 같은 트랜잭션으로 색인
+ * - 검색: 검색어 bigram 이 모두 들어간 메시지 id 를 색인에서 id 역순으로 찾고 (LIKE 로 본문 전체를 훑지 않음)
+ *   bigram 만으로는 글자 순서까지 확인이 안 되므로 후보 본문에 검색어가 실제로 있는지 한 번 더 확인
+ * - 이 기능 전에 쌓인 메시지는 시작 시 방 단위로 색인 (ChatRoom.searchIndexed)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatSearchIndex {
+
+    // 후보를 한 번에 가져오는 수 / 한 번 검색에서 후보를 다시 가져오는 최대 횟수
+    private static final int CANDIDATE_FETCH_SIZE = 100;
+    private static final int MAX_CANDIDATE_ROUNDS = 5;
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatMessageRepository chatMessageRepository;
+
+    /**
+     * 검색 결과 한 페이지 (nextBefore 가 null 이면 더 없음)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class SearchPage {
+        private final List<Hit> hits;
+        private final Long nextBefore;
+    }
+
+    /**
+     * 메시지 + 본문 안에서 검색어가 걸린 위치 [start, end) 목록
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Hit {
+        private final ChatMessage message;
+        private final List<int[]> highlights;
+    }
+
+    /**
+     * 방 안에서 검색 (before 보다 오래된 것 중 최신순 limit 개)
+     */
+    public SearchPage search(Long roomId, String query, Long before, int limit) {
+        List<String> words = ChatSearchTokenizer.words(query);
+        Set<String> tokens = ChatSearchTokenizer.queryTokens(words);
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("검색어는 두 글자 이상 입력해 주세요.");
+        }
+
+        List<Hit> hits = new ArrayList<>(limit);
+        long cursor = (before == null) ? Long.MAX_VALUE : before;
+
+        for (int round = 0; round < MAX_CANDIDATE_ROUNDS; round++) {
+            List<Long> candidateIds = findCandidateIds(roomId, tokens, cursor, CANDIDATE_FETCH_SIZE);
+            if (candidateIds.isEmpty()) {
+                return new SearchPage(hits, null);
+            }
+
+            for (ChatMessage m : chatMessageRepository.findByChatRoom_IdAndIdInOrderByIdDesc(roomId, candidateIds)) {
+                cursor = m.getId();
+                List<int[]> highlights = highlight(m.getContent(), words);
+                if (highlights != null) {
+                    hits.add(new Hit(m, highlights));
+                    if (hits.size() == limit) {
+                        return new SearchPage(hits, m.getId());
+                    }
+                }
+            }
+            cursor = Math.min(cursor, candidateIds.get(candidateIds.size() - 1));
+
+            if (candidateIds.size() < CANDIDATE_FETCH_SIZE) {
+                return new SearchPage(hits, null);
+            }
+        }
+        // 후보가 계속 걸러지면 여기까지만 보고 다음 페이지로 넘김
+        return new SearchPage(hits, cursor);
+    }
+
+    // 검색어 bigram 이 모두 들어간 메시지 id (id 역순)
+    private List<Long> findCandidateIds(Long roomId, Set<String> tokens, long before, int limit) {
+        String placeholders = String.join(", ", Collections.nCopies(tokens.size(), "?"));
+        String sql = "SELECT message_id FROM chat_search_postings " +
+                "WHERE chat_room_id = ? AND token IN (" + placeholders + ") AND message_id < ? " +
+                "GROUP BY message_id HAVING COUNT(*) = ? " +
+                "ORDER BY message_id DESC LIMIT ?";
+
+        List<Object> args = new ArrayList<>(tokens.size() + 4);
+        args.add(roomId);
+        args.addAll(tokens);
+        args.add(before);
+        args.add(tokens.size());
+        args.add(limit);
+        return jdbcTemplate.queryForList(sql, Long.class, args.toArray());
+    }
+
+    /**
+     * 본문에 검색어 단어가 모두 있으면 걸린 위치 목록 (겹치면 합침), 하나라도 없으면 null
+     */
+    static List<int[]> highlight(String content, List<String> words) {
+        String normalized = ChatSearchTokenizer.normalize(content);
+        boolean[] marked = new boolean[normalized.length()];
+
+        for (String word : words) {
+            int from = normalized.indexOf(word);
+            if (from < 0) return null;
+            while (from >= 0) {
+                for (int i = from; i < from + word.length(); i++) {
+                    marked[i] = true;
+                }
+                from = normalized.indexOf(word, from + 1);
+            }
+        }
+
+        List<int[]> ranges = new ArrayList<>();
+        for (int i = 0; i < marked.length; i++) {
+            if (!marked[i]) continue;
+            int start = i;
+            while (i < marked.length && marked[i]) i++;
+            ranges.add(new int[]{start, i});
+        }
+        return ranges;
+    }
+
+    // ───────────────── 기존 메시지 색인 ─────────────────
+
+    /**
+     * 아직 색인 안 된 방의 메시지를 색인 (시작할 때 한 번, 요청 처리와 별도 스레드)
+     * 방마다 시작 시점의 마지막 메시지 id 까지만 다시 색인 → 그 뒤 메시지는 저장기가 이미 색인함
+     * 중간에 죽어도 다음 시작 때 그 방을 처음부터 다시 (먼저 지우고 넣으므로 중복 없음)
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Long> roomIds = jdbcTemplate.queryForList(
+                "SELECT id FROM chatrooms WHERE search_indexed = false AND deleted_at IS NULL ORDER BY id", Long.class);
+        if (roomIds.isEmpty()) return;
+
+        log.info("채팅 검색 색인 시작: {}개 방", roomIds.size());
+        for (Long roomId : roomIds) {
+            try {
+                backfillRoom(roomId);
+            } catch (RuntimeException e) {
+                log.warn("채팅 검색 색인 실패: roomId={}", roomId, e);
+            }
+        }
+        log.info("채팅 검색 색인 완료");
+    }
+
+    private void backfillRoom(Long roomId) {
+        // 방 요약(last_message_id) 백필과 순서가 보장되지 않으므로 메시지 테이블에서 직접 ((chat_room_id, id) 인덱스)
+        Long upTo = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM chat_messages WHERE chat_room_id = ?", Long.class, roomId);
+
+        if (upTo != null) {
+            jdbcTemplate.update(
+                    "DELETE FROM chat_search_postings WHERE chat_room_id = ? AND message_id <= ?", roomId, upTo);
+
+            long after = 0;
+            while (true) {
+                List<Object[]> rows = jdbcTemplate.query(
+                        "SELECT id, content FROM chat_messages " +
+                        "WHERE chat_room_id = ? AND id > ? AND id <= ? ORDER BY id LIMIT ?",
+                        (rs, i) -> new Object[]{rs.getLong(1), rs.getString(2)},
+                        roomId, after, upTo, BACKFILL_CHUNK_SIZE);
+                if (rows.isEmpty()) break;
+
+                List<Object[]> postings = new ArrayList<>();
+                for (Object[] row : rows) {
+                    for (String token : ChatSearchTokenizer.indexTokens((String) row[1])) {
+                        postings.add(new Object[]{roomId, token, row[0]});
+                    }
+                }
+                jdbcTemplate.batchUpdate(ChatMessageWriter.INSERT_SEARCH_POSTING_SQL, postings);
+                after = (Long) rows.get(rows.size() - 1)[0];
+            }
+        }
+
+        jdbcTemplate.update("UPDATE chatrooms SET search_indexed = true WHERE id = ?", roomId);
+    }
+}
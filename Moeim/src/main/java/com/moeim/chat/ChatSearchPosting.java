@@ -0,0 +1,45 @@
+package com.moeim.chat;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * 채팅 검색 색인 (방, bigram, 메시지) 한 줄
+ * (chat_room_id, token, message_id) 인덱스로 "이 방에서 이 글자쌍이 들어간 메시지" 를 id 역순으로 바로 찾음
+ * 쓰기/조회는 ChatMessageWriter, ChatSearchIndex 에서 JDBC 로 하고, 엔티티는 테이블 정의용
+ */
+@Entity
+@Getter
+@Table(name = "chat_search_postings",
+        indexes = {
+                @Index(name = "idx_chat_search_postings_token", columnList = "chat_room_id, token, message_id"),
+                @Index(name = "idx_chat_search_postings_message", columnList = "message_id")
+        })
+@IdClass(ChatSearchPosting.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSearchPosting {
+
+    @Id
+    @Column(name = "chat_room_id")
+    private Long chatRoomId;
+
+    @Id
+    @Column(length = ChatSearchTokenizer.MAX_TOKEN_LENGTH)
+    private String token;
+
+    @Id
+    @Column(name = "message_id")
+    private Long messageId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long chatRoomId;
+        private String token;
+        private Long messageId;
+    }
+}
@@ -0,0 +1,52 @@
+package com.moeim.chat;
+
+import com.moeim.global.BigramTokenizer;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 채팅 검색용 토큰 분리 (BigramTokenizer 로 두 글자씩)
+ */
+final class ChatSearchTokenizer {
+
+    // 토큰 컬럼 길이 (bigram 은 최대 2글자)
+    static final int MAX_TOKEN_LENGTH = BigramTokenizer.TOKEN_LENGTH;
+
+    private ChatSearchTokenizer() {
+    }
+
+    static String normalize(String text) {
+        return BigramTokenizer.normalize(text);
+    }
+
+    /**
+     * 메시지 본문 → 색인할 bigram (중복 제거, 한 글자짜리 단어는 색인하지 않음)
+     */
+    static Set<String> indexTokens(String content) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : words(content)) {
+            BigramTokenizer.addBigrams(word, tokens);
+        }
+        return tokens;
+    }
+
+    /**
+     * 검색어 → 단어 목록 (정규화됨)
+     */
+    static List<String> words(String text) {
+        return BigramTokenizer.words(text);
+    }
+
+    /**
+     * 검색어 단어들 → 후보를 찾을 bigram (한 글자 단어는 색인에 없으므로 빼고, 본문 확인 단계에서 거름)
+     */
+    static Set<String> queryTokens(List<String> words) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : words) {
+            BigramTokenizer.addBigrams(word, tokens);
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,95 @@
+package com.moeim.chat;
+
+import com.moeim.user.SessionUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * STOMP 입력 채널 권한 체크
+ * - CONNECT : 로그인 세션이 있어야 함
+ * - SUBSCRIBE : /topic/chat/rooms/{roomId} 는 그 방 참가자만
+ * - SEND : 클라이언트가 브로커(/topic, /queue)로 직접 보내는 것 차단 (전송은 REST API로만)
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatSubscriptionInterceptor implements ChannelInterceptor {
+
+    private final ChatParticipantRepository chatParticipantRepository;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor =
+                MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        StompCommand command = accessor.getCommand();
+        if (command == StompCommand.CONNECT) {
+            getLoginUser(accessor);
+        } else if (command == StompCommand.SUBSCRIBE) {
+            checkSubscribe(accessor);
+        } else if (command == StompCommand.SEND) {
+            String destination = accessor.getDestination();
+            if (destination == null || !destination.startsWith("/app/")) {
+                throw new IllegalArgumentException("허용되지 않은 전송 경로입니다.");
+            }
+        }
+        return message;
+    }
+
+    private void checkSubscribe(StompHeaderAccessor accessor) {
+        SessionUser user = getLoginUser(accessor);
+        String destination = accessor.getDestination();
+        if (destination == null) {
+            throw new IllegalArgumentException("구독 경로가 없습니다.");
+        }
+
+        // 내 개인 큐는 항상 허용 (/user/queue/**)
+        if (destination.startsWith("/user/queue/")) {
+            return;
+        }
+
+        Long roomId = parseRoomId(destination);
+        if (roomId == null) {
+            throw new IllegalArgumentException("허용되지 않은 구독 경로입니다.");
+        }
+
+        if (!chatParticipantRepository.existsByChatRoom_IdAndUser_Id(roomId, user.getId())) {
+            throw new IllegalArgumentException("이 방에 참가자가 아닙니다.");
+        }
+    }
+
+    private SessionUser getLoginUser(StompHeaderAccessor accessor) {
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        Object user = (attributes != null) ? attributes.get("user") : null;
+        if (!(user instanceof SessionUser loginUser)) {
+            throw new IllegalArgumentException("로그인이 필요합니다.");
+        }
+        return loginUser;
+    }
+
+    // /topic/chat/rooms/{roomId}[/...] 에서 roomId 추출
+    private Long parseRoomId(String destination) {
+        String prefix = ChatWebSocketConfig.ROOM_TOPIC_PREFIX;
+        if (!destination.startsWith(prefix)) {
+            return null;
+        }
+        String rest = destination.substring(prefix.length());
+        int slash = rest.indexOf('/');
+        String idPart = (slash >= 0) ? rest.substring(0, slash) : rest;
+        try {
+            return Long.parseLong(idPart);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.moeim.chat;
+
+import com.moeim.user.SessionUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+import org.springframework.web.socket.server.support.HttpSessionHandshakeInterceptor;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * 채팅 실시간 전송용 STOMP 설정
+ * - 접속: /ws/chat (HttpSession 의 "user" 를 그대로 WebSocket 세션으로 복사)
+ * - 방 구독: /topic/chat/rooms/{roomId}
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+@RequiredArgsConstructor
+public class ChatWebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    public static final String ROOM_TOPIC_PREFIX = "/topic/chat/rooms/";
+
+    private final ChatSubscriptionInterceptor chatSubscriptionInterceptor;
+
+    public static String roomTopic(Long roomId) {
+        return ROOM_TOPIC_PREFIX + roomId;
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws/chat")
+                .addInterceptors(new HttpSessionHandshakeInterceptor())
+                .setHandshakeHandler(new SessionUserHandshakeHandler());
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic", "/queue");
+        registry.setApplicationDestinationPrefixes("/app");
+        registry.setUserDestinationPrefix("/user");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // 구독 권한 체크 (방 참가자만 구독 가능)
+        registration.interceptors(chatSubscriptionInterceptor);
+    }
+
+    // 로그인 유저 id 를 WebSocket Principal 이름으로 사용 (/user/queue/** 전송용)
+    private static class SessionUserHandshakeHandler extends DefaultHandshakeHandler {
+        @Override
+        protected Principal determineUser(ServerHttpRequest request,
+                                          WebSocketHandler wsHandler,
+                                          Map<String, Object> attributes) {
+            if (attributes.get("user") instanceof SessionUser user) {
+                String name = String.valueOf(user.getId());
+                return () -> name;
+            }
+            return super.determineUser(request, wsHandler, attributes);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.moeim.chat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버 여러 대용: chat_event_notifications 테이블을 알림 통로로 씀 (DB 만 같이 쓰면 되고 별도 브로커 없음)
+ * - 보내기: 이 서버 리스너에게 바로 전달 + 테이블에 INSERT
+ *   트랜잭션 안에서 보낸 것은 커밋된 뒤에만 테이블로 (롤백되면 다른 서버에도 안 감, 로컬 리스너도 커밋 후에만 반응)
+ *   메시지 이벤트(publishAll)는 저장기 커밋 직후 바로 배치 INSERT, 나머지(읽음/참가자)는 모아서 다음 틱에 배치 INSERT
+ * - 받기: 틱마다 마지막으로 본 id 이후 행을 읽어서, 다른 서버가 보낸 것만 이 서버 리스너에게 발행
+ * - IDENTITY id 는 커밋 순서와 다를 수 있어서(동시에 INSERT), 건너뛴 id 는 잠깐(gap-timeout) 동안 다시 확인
+ * - 오래된 행은 1분마다 삭제
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.event-bus.type", havingValue = "jdbc")
+public class JdbcChatEventBus implements ChatEventBus {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO chat_event_notifications (node_id, type, payload, created_at) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_AFTER_SQL =
+            "SELECT id, node_id, type, payload FROM chat_event_notifications WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String DELETE_OLD_SQL =
+            "DELETE FROM chat_event_notifications WHERE created_at < ?";
+
+    private static final int POLL_SIZE = 500;
+    // 한 번에 기록해 두는 건너뛴 id 최대 수 (롤백 등으로 크게 비면 그 이상은 포기)
+    private static final int MAX_GAPS = 1000;
+    private static final long RETENTION_SECONDS = 60;
+
+    // 테이블 type 컬럼 값 <-> 이벤트 클래스
+    private static final Map<String, Class<?>> TYPES = Map.of(
+            "message", ChatMessageSentEvent.class,
+            "read", ChatReadMarkedEvent.class,
+            "membership", ChatRoomMembershipEvent.class,
+            "archive", ChatArchiveSegmentChangedEvent.class
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId;
+    private final long gapTimeoutNanos;
+
+    // 다음 틱에 보낼 이벤트
+    private final ConcurrentLinkedQueue<Object[]> outgoing = new ConcurrentLinkedQueue<>();
+
+    // 받기 상태 (poll 스레드에서만 사용)
+    private long cursor = -1;
+    private final Map<Long, Long> gaps = new LinkedHashMap<>(); // 건너뛴 id -> 처음 본 시각
+
+    public JdbcChatEventBus(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${chat.event-bus.node-id:}") String nodeId,
+            @Value("${chat.event-bus.gap-timeout-ms:5000}") long gapTimeoutMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.gapTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(gapTimeoutMillis);
+        log.info("채팅 이벤트 버스(jdbc) 시작: nodeId={}", this.nodeId);
+    }
+
+    // ───────────────── 보내기 ─────────────────
+
+    @Override
+    public void publish(Object event) {
+        eventPublisher.publishEvent(event);
+        Object[] row = toRow(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outgoing.add(row);
+                }
+            });
+        } else {
+            outgoing.add(row);
+        }
+    }
+
+    // 메시지는 커밋된 직후 바로 보냄 (다음 틱까지 기다리다 서버가 죽으면 다른 서버 캐시에서 빠지므로)
+    @Override
+    public void publishAll(List<?> events) {
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (Object event : events) {
+            rows.add(toRow(event));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+
+        for (Object event : events) {
+            try {
+                eventPublisher.publishEvent(event);
+            } catch (RuntimeException e) {
+                log.warn("채팅 이벤트 처리 실패: {}", event.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private Object[] toRow(Object event) {
+        String type = typeOf(event.getClass());
+        try {
+            return new Object[]{nodeId, type, objectMapper.writeValueAsString(event),
+                    Timestamp.valueOf(LocalDateTime.now())};
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("채팅 이벤트 직렬화 실패: " + type, e);
+        }
+    }
+
+    private static String typeOf(Class<?> eventClass) {
+        for (Map.Entry<String, Class<?>> e : TYPES.entrySet()) {
+            if (e.getValue() == eventClass) return e.getKey();
+        }
+        throw new IllegalArgumentException("서버 간 전달할 수 없는 이벤트입니다: " + eventClass.getName());
+    }
+
+    // ───────────────── 틱: 모아 둔 것 보내기 + 받기 ─────────────────
+
+    @Scheduled(fixedDelayString = "${chat.event-bus.poll-interval-ms:200}")
+    public void poll() {
+        flushOutgoing();
+        receive();
+    }
+
+    private void flushOutgoing() {
+        List<Object[]> rows = new ArrayList<>();
+        Object[] row;
+        while ((row = outgoing.poll()) != null) {
+            rows.add(row);
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    private void receive() {
+        if (cursor < 0) {
+            // 시작 전 이벤트는 받지 않음 (그 사이 상태는 DB 에서 읽음)
+            cursor = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(id), 0) FROM chat_event_notifications", Long.class);
+            return;
+        }
+
+        long now = System.nanoTime();
+
+        // 지난번에 건너뛴 id 중 이제 커밋된 것
+        if (!gaps.isEmpty()) {
+            String in = String.join(", ", Collections.nCopies(gaps.size(), "?"));
+            List<Notification> late = jdbcTemplate.query(
+                    "SELECT id, node_id, type, payload FROM chat_event_notifications WHERE id IN (" + in + ")",
+                    this::mapRow, gaps.keySet().toArray());
+            for (Notification n : late) {
+                gaps.remove(n.id);
+                deliver(n);
+            }
+            gaps.values().removeIf(seenAt -> now - seenAt > gapTimeoutNanos);
+        }
+
+        List<Notification> rows;
+        do {
+            rows = jdbcTemplate.query(SELECT_AFTER_SQL, this::mapRow, cursor, POLL_SIZE);
+            for (Notification n : rows) {
+                for (long missing = cursor + 1; missing < n.id && gaps.size() < MAX_GAPS; missing++) {
+                    gaps.put(missing, now);
+                }
+                cursor = n.id;
+                deliver(n);
+            }
+        } while (rows.size() == POLL_SIZE);
+    }
+
+    private void deliver(Notification n) {
+        if (nodeId.equals(n.nodeId)) return; // 내가 보낸 건 이미 처리함
+
+        Class<?> eventClass = TYPES.get(n.type);
+        if (eventClass == null) return;
+        try {
+            eventPublisher.publishEvent(objectMapper.readValue(n.payload, eventClass));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("다른 서버 채팅 이벤트 처리 실패: id={}, type={}", n.id, n.type, e);
+        }
+    }
+
+    private Notification mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new Notification(rs.getLong("id"), rs.getString("node_id"), rs.getString("type"), rs.getString("payload"));
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void deleteOld() {
+        jdbcTemplate.update(DELETE_OLD_SQL, Timestamp.valueOf(LocalDateTime.now().minusSeconds(RETENTION_SECONDS)));
+    }
+
+    private static final class Notification {
+        private final long id;
+        private final String nodeId;
+        private final String type;
+        private final String payload;
+
+        private Notification(long id, String nodeId, String type, String payload) {
+            this.id = id;
+            this.nodeId = nodeId;
+            this.type = type;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.moeim.chat;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * 서버 한 대용: 이 서버 리스너에게만 전달
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.event-bus.type", havingValue = "local", matchIfMissing = true)
+public class LocalChatEventBus implements ChatEventBus {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(Object event) {
+        eventPublisher.publishEvent(event);
+    }
+}
@@ -0,0 +1,49 @@
+package com.moeim.chat;
+
+import com.moeim.user.SessionUser;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/presence")
+@RequiredArgsConstructor
+public class PresenceApiController {
+
+    // 한 번에 물어볼 수 있는 최대 인원
+    private static final int MAX_QUERY_SIZE = 500;
+
+    private final PresenceRegistry presenceRegistry;
+
+    // ───────────────── 1) heartbeat ─────────────────
+    // POST /api/presence/heartbeat (WebSocket 을 못 여는 화면에서 주기적으로)
+    @PostMapping("/heartbeat")
+    public void heartbeat(HttpSession session) {
+        SessionUser me = getLoginUser(session);
+        presenceRegistry.heartbeat(me.getId());
+    }
+
+    // ───────────────── 2) 온라인 여부 한 번에 조회 ─────────────────
+    // GET /api/presence?userIds=1,2,3 → 그중 온라인인 id 목록
+    @GetMapping
+    public Set<Long> online(@RequestParam List<Long> userIds, HttpSession session) {
+        getLoginUser(session);
+        if (userIds.size() > MAX_QUERY_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "한 번에 " + MAX_QUERY_SIZE + "명까지 조회할 수 있습니다.");
+        }
+        return presenceRegistry.onlineAmong(userIds);
+    }
+
+    private SessionUser getLoginUser(HttpSession session) {
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
+        if (sessionUser == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
+        }
+        return sessionUser;
+    }
+}
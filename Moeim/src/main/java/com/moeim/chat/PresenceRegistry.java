@@ -0,0 +1,196 @@
+package com.moeim.chat;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 접속 중(온라인) 유저 레지스트리 (메모리, DB 쓰기 없음)
+ * - WebSocket(/ws/chat) 세션이 하나라도 열려 있으면 온라인
+ * - 소켓 없이 보는 화면은 heartbeat 로 유지, 마지막 신호 후 ttl 이 지나면 오프라인
+ *   (소켓이 끊긴 뒤에도 ttl 동안은 온라인으로 둠 → 새로고침/페이지 이동 때 깜빡이지 않게)
+ * - 유저 id 로 샤드를 고른 뒤 ConcurrentHashMap 조회 한 번 → 유저당 O(1)
+ * - 만료는 타이밍 휠: 1초 단위 칸에 만료 예정 유저를 넣어 두고, 매 틱마다 그 칸만 확인
+ *   (전체를 훑지 않으므로 접속자 수와 상관없이 틱 비용은 그 초에 만료되는 인원만큼)
+ */
+@Slf4j
+@Component
+public class PresenceRegistry {
+
+    private static final int SHARD_COUNT = 16;           // 2의 거듭제곱
+    private static final long TICK_MILLIS = 1000L;
+
+    private final Map<Long, Presence>[] shards;
+    private final Set<Long>[] wheel;
+    private final long ttlTicks;
+
+    // 휠 시작 시각 기준 현재 틱 (tick() 에서만 증가)
+    private final long startMillis = System.currentTimeMillis();
+    private volatile long currentTick = 0;
+
+    @SuppressWarnings("unchecked")
+    public PresenceRegistry(@Value("${chat.presence.ttl-seconds:60}") long ttlSeconds) {
+        this.ttlTicks = Math.max(1, ttlSeconds * 1000 / TICK_MILLIS);
+
+        this.shards = new Map[SHARD_COUNT];
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+
+        // 한 바퀴가 ttl 보다 길어야 같은 칸에 다른 바퀴 만료가 섞이지 않음
+        int wheelSize = Integer.highestOneBit((int) Math.min(ttlTicks + 2, 1 << 20)) << 1;
+        this.wheel = new Set[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+    }
+
+    // ───────────────── 신호 받기 ─────────────────
+
+    /**
+     * 가벼운 heartbeat (소켓 없는 화면에서 주기적으로 호출)
+     */
+    public void heartbeat(Long userId) {
+        // 만료 처리(computeIfPresent)와 엇갈리지 않도록 같은 키 compute 안에서 갱신
+        shard(userId).compute(userId, (id, p) -> {
+            Presence target = (p != null) ? p : new Presence();
+            schedule(userId, target);
+            return target;
+        });
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Long userId = userIdOf(event.getUser());
+        String sessionId = (String) event.getMessage().getHeaders().get("simpSessionId");
+        if (userId == null || sessionId == null) return;
+
+        shard(userId).compute(userId, (id, p) -> {
+            Presence target = (p != null) ? p : new Presence();
+            target.sessionIds.add(sessionId);
+            return target;
+        });
+    }
+
+    // 같은 세션에 대해 여러 번 올 수 있음 → 세션 id 로 지워서 중복 무시
+    @EventListener
+    public void onDisconnected(SessionDisconnectEvent event) {
+        Long userId = userIdOf(event.getUser());
+        if (userId == null) return;
+
+        shard(userId).computeIfPresent(userId, (id, p) -> {
+            if (p.sessionIds.remove(event.getSessionId()) && p.sessionIds.isEmpty()) {
+                schedule(userId, p); // 마지막 소켓이 끊긴 뒤 ttl 동안 유지
+            }
+            return p;
+        });
+    }
+
+    // ───────────────── 조회 ─────────────────
+
+    public boolean isOnline(Long userId) {
+        if (userId == null) return false;
+        Presence p = shard(userId).get(userId);
+        return p != null && p.isAlive(currentTick);
+    }
+
+    /**
+     * 주어진 유저들 중 온라인인 id 만 (멤버 목록 등 한 번에 조회)
+     */
+    public Set<Long> onlineAmong(Collection<Long> userIds) {
+        if (userIds.isEmpty()) return Collections.emptySet();
+
+        long now = currentTick;
+        Set<Long> online = new HashSet<>();
+        for (Long userId : userIds) {
+            if (userId == null) continue;
+            Presence p = shard(userId).get(userId);
+            if (p != null && p.isAlive(now)) {
+                online.add(userId);
+            }
+        }
+        return online;
+    }
+
+    public int onlineCount() {
+        int count = 0;
+        for (Map<Long, Presence> shard : shards) {
+            count += shard.size();
+        }
+        return count;
+    }
+
+    // ───────────────── 만료 (타이밍 휠) ─────────────────
+
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void tick() {
+        // 스케줄러가 밀렸으면 지나간 칸까지 따라잡음
+        long target = (System.currentTimeMillis() - startMillis) / TICK_MILLIS;
+        for (long t = currentTick + 1; t <= target; t++) {
+            currentTick = t;
+            expireSlot(t);
+        }
+    }
+
+    private void expireSlot(long tick) {
+        Set<Long> slot = wheel[(int) (tick & (wheel.length - 1))];
+        if (slot.isEmpty()) return;
+
+        int expired = 0;
+        for (Long userId : slot) {
+            slot.remove(userId);
+            // 그사이 heartbeat 가 오면 더 뒤 칸에 다시 들어가 있으므로 여기선 남겨 둠
+            Presence removed = shard(userId).computeIfPresent(userId,
+                    (id, p) -> p.isAlive(tick) ? p : null);
+            if (removed == null) expired++;
+        }
+        if (expired > 0) {
+            log.debug("오프라인 처리: {}명", expired);
+        }
+    }
+
+    // 반드시 해당 유저 키의 compute 안에서 호출
+    private void schedule(Long userId, Presence p) {
+        long deadline = currentTick + ttlTicks;
+        // 같은 틱에 이미 걸어 뒀으면 다시 넣지 않음
+        if (p.expiresAtTick == deadline) return;
+        p.expiresAtTick = deadline;
+        wheel[(int) (deadline & (wheel.length - 1))].add(userId);
+    }
+
+    private Map<Long, Presence> shard(Long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L; // id 가 연속이어도 고르게 퍼지도록
+        return shards[(int) (h >>> 60) & (SHARD_COUNT - 1)];
+    }
+
+    // Principal 이름 = 로그인 유저 id (ChatWebSocketConfig)
+    private Long userIdOf(Principal principal) {
+        if (principal == null) return null;
+        try {
+            return Long.parseLong(principal.getName());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class Presence {
+        private final Set<String> sessionIds = ConcurrentHashMap.newKeySet();
+        private volatile long expiresAtTick;
+
+        private boolean isAlive(long tick) {
+            return !sessionIds.isEmpty() || expiresAtTick > tick;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.moeim.chat;
+
+import com.moeim.user.SessionUser;
+import com.moeim.user.UserService;
+import jakarta.servlet.http.HttpSession;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/chat/random")
+@RequiredArgsConstructor
+public class RandomChatApiController {
+
+    // 매칭 결과 push 경로 (/user/queue/random)
+    private static final String MATCH_QUEUE = "/queue/random";
+
+    private final RandomChatMatcher randomChatMatcher;
+    private final ChatRoomService chatRoomService;
+    private final UserService userService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PresenceRegistry presenceRegistry;
+
+    // ───────────────── 1) 매칭 참가 ─────────────────
+    // POST /api/chat/random/join → 바로 짝이 되면 roomId, 아니면 WAITING
+    @PostMapping("/join")
+    public RandomMatchResponse join(HttpSession session) {
+        SessionUser me = getLoginUser(session);
+
+        RandomChatMatcher.Match match = randomChatMatcher.join(me.getId());
+        if (match == null) {
+            return RandomMatchResponse.of(randomChatMatcher.status(me.getId()));
+        }
+
+        // 짝을 만든 요청만 여기로 옴 → 한 쌍에 방은 한 번만 생성
+        Long partnerId = match.getFirst().getUserId();
+        ChatRoom room;
+        try {
+            room = chatRoomService.createRandomRoom(
+                    userService.getUserReference(partnerId), userService.getUserReference(me.getId()));
+        } catch (RuntimeException e) {
+            randomChatMatcher.fail(match);
+            log.warn("랜덤 채팅방 생성 실패: {} - {}", partnerId, me.getId(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "랜덤 채팅방을 만들지 못했습니다.");
+        }
+        randomChatMatcher.complete(match, room.getId());
+
+        // 먼저 기다리던 상대에게는 push (폴링 중이면 status 로도 받음, 접속 끊긴 상대면 생략)
+        if (presenceRegistry.isOnline(partnerId)) {
+            messagingTemplate.convertAndSendToUser(
+                    String.valueOf(partnerId), MATCH_QUEUE, RandomMatchResponse.matched(room.getId()));
+        }
+
+        return RandomMatchResponse.of(randomChatMatcher.status(me.getId()));
+    }
+
+    // ───────────────── 2) 매칭 상태 (폴링) ─────────────────
+    // GET /api/chat/random/status
+    @GetMapping("/status")
+    public RandomMatchResponse status(HttpSession session) {
+        SessionUser me = (SessionUser) session.getAttribute("user");
+        if (me == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
+        }
+        return RandomMatchResponse.of(randomChatMatcher.status(me.getId()));
+    }
+
+    // ───────────────── 3) 매칭 취소 ─────────────────
+    // POST /api/chat/random/cancel
+    @PostMapping("/cancel")
+    public RandomMatchResponse cancel(HttpSession session) {
+        SessionUser me = getLoginUser(session);
+
+        if (randomChatMatcher.cancel(me.getId())) {
+            return RandomMatchResponse.none();
+        }
+        // 이미 짝이 정해진 뒤면 결과를 그대로 돌려줌 (방 만드는 중이면 WAITING → 곧 MATCHED)
+        return RandomMatchResponse.of(randomChatMatcher.status(me.getId()));
+    }
+
+    private SessionUser getLoginUser(HttpSession session) {
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
+        if (sessionUser == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
+        }
+        return sessionUser;
+    }
+
+    // ───────────────── DTO ─────────────────
+
+    @Data
+    public static class RandomMatchResponse {
+        private String status;   // NONE | WAITING | MATCHED
+        private Long roomId;
+
+        static RandomMatchResponse of(RandomChatMatcher.Ticket ticket) {
+            if (ticket == null) {
+                return none();
+            }
+            return switch (ticket.getStatus()) {
+                case RandomChatMatcher.MATCHED -> matched(ticket.getRoomId());
+                case RandomChatMatcher.CANCELLED -> none();
+                default -> waiting();
+            };
+        }
+
+        static RandomMatchResponse none() {
+            RandomMatchResponse res = new RandomMatchResponse();
+            res.status = "NONE";
+            return res;
+        }
+
+        static RandomMatchResponse waiting() {
+            RandomMatchResponse res = new RandomMatchResponse();
+            res.status = "WAITING";
+            return res;
+        }
+
+        static RandomMatchResponse matched(Long roomId) {
+            RandomMatchResponse res = new RandomMatchResponse();
+            res.status = "MATCHED";
+            res.roomId = roomId;
+            return res;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.moeim.chat;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 랜덤 채팅 매칭 대기열 (메모리, 락 없음)
+ * - 대기 자리는 한 칸(slot): 비어 있으면 내가 들어가서 기다리고, 누가 있으면 꺼내서 짝이 됨
+ * - 슬롯에서 상대를 CAS 로 꺼내고 상대 티켓 상태까지 CAS 로 잡은 스레드만 짝을 만듦 → 한 쌍에 방 생성 한 번
+ * - 취소는 WAITING → CANCELLED CAS (짝이 정해진 뒤(MATCHING 부터)는 취소 안 됨)
+ *   짝을 찾는 쪽도 자기 티켓을 WAITING → PAIRING CAS 로 잡으므로, 취소에 성공한 사람은 짝이 되지 않음
+ *   PAIRING 은 join 안에서 CAS 몇 번 동안만 → 취소는 짝 성립(MATCHING) / 다시 대기(WAITING) 가 정해질 때까지 기다림
+ * 방 생성(DB)은 여기서 하지 않고, join 이 돌려준 Match 를 받은 쪽이 처리
+ */
+@Component
+public class RandomChatMatcher {
+
+    static final int WAITING = 0;
+    static final int MATCHING = 1;   // 짝은 정해졌고 방 만드는 중
+    static final int MATCHED = 2;
+    static final int CANCELLED = 3;
+    static final int PAIRING = 4;    // 대기 자리의 상대를 꺼내는 중 (join 안에서 잠깐)
+
+    private final AtomicReference<Ticket> slot = new AtomicReference<>();
+    private final Map<Long, Ticket> tickets = new ConcurrentHashMap<>();
+
+    private final long waitingTtlNanos;
+    private final long matchedTtlNanos;
+
+    public RandomChatMatcher(
+            @Value("${chat.random.waiting-ttl-seconds:30}") long waitingTtlSeconds,
+            @Value("${chat.random.matched-ttl-seconds:120}") long matchedTtlSeconds
+    ) {
+        this.waitingTtlNanos = Duration.ofSeconds(waitingTtlSeconds).toNanos();
+        this.matchedTtlNanos = Duration.ofSeconds(matchedTtlSeconds).toNanos();
+    }
+
+    /**
+     * 매칭 참가
+     * @return 이번 호출로 짝이 만들어졌으면 Match (호출한 쪽이 방을 만들고 complete/fail 해야 함), 아니면 null
+     */
+    public Match join(Long userId) {
+        Ticket mine = new Ticket(userId);
+        Ticket existing = tickets.putIfAbsent(userId, mine);
+        if (existing != null) {
+            int state = existing.state.get();
+            if (state == WAITING || state == PAIRING || state == MATCHING) {
+                existing.touch();
+                return null; // 이미 대기 중이거나 방 만드는 중 (중복 클릭)
+            }
+            if (!tickets.replace(userId, existing, mine)) {
+                return null; // 동시에 다른 join 이 새 티켓을 넣음
+            }
+        }
+
+        while (true) {
+            Ticket waiting = slot.get();
+            if (waiting == null) {
+                if (slot.compareAndSet(null, mine)) {
+                    return null; // 내가 대기 자리에 들어감
+                }
+                continue;
+            }
+
+            // 취소된 티켓이 자리를 차지하고 있으면 치우고 다시
+            if (waiting.state.get() != WAITING) {
+                slot.compareAndSet(waiting, null);
+                continue;
+            }
+
+            // 내 티켓을 먼저 잡음 (그사이 내가 취소했으면 짝을 만들지 않음)
+            if (!mine.state.compareAndSet(WAITING, PAIRING)) {
+                return null;
+            }
+            // 대기 중인 상대를 꺼내고, 상대 티켓까지 잡아야 짝 성립 (그사이 취소됐으면 내 티켓을 풀고 다시)
+            if (slot.compareAndSet(waiting, null)
+                    && waiting.state.compareAndSet(WAITING, MATCHING)) {
+                mine.state.set(MATCHING);
+                return new Match(waiting, mine);
+            }
+            mine.state.set(WAITING);
+        }
+    }
+
+    /**
+     * 매칭 취소 (아직 짝이 정해지기 전이면 성공)
+     * 짝을 찾는 중(PAIRING)이면 결과가 나올 때까지 기다렸다가 판단 → 다시 대기로 돌아간 티켓의 취소가 묻히지 않음
+     */
+    public boolean cancel(Long userId) {
+        Ticket ticket = tickets.get(userId);
+        if (ticket == null) {
+            return false;
+        }
+        while (true) {
+            int state = ticket.state.get();
+            if (state == PAIRING) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (state != WAITING) {
+                return false; // 이미 짝이 정해짐 (방 만드는 중 / 완료) 또는 이미 취소됨
+            }
+            if (ticket.state.compareAndSet(WAITING, CANCELLED)) {
+                break;
+            }
+        }
+        tickets.remove(userId, ticket);
+        slot.compareAndSet(ticket, null);
+        return true;
+    }
+
+    /**
+     * 내 매칭 상태 (폴링용, 맵 조회 한 번)
+     */
+    public Ticket status(Long userId) {
+        Ticket ticket = tickets.get(userId);
+        if (ticket == null) return null;
+
+        ticket.touch();
+        if (ticket.state.get() == MATCHED) {
+            tickets.remove(userId, ticket); // 결과는 한 번 확인하면 끝
+        }
+        return ticket;
+    }
+
+    // 방 생성 성공 → 두 티켓 모두 MATCHED
+    public void complete(Match match, Long roomId) {
+        match.first.finish(roomId);
+        match.second.finish(roomId);
+    }
+
+    // 방 생성 실패 → 두 사람 모두 대기열에서 빠짐 (다시 시작하면 새로 참가)
+    public void fail(Match match) {
+        for (Ticket t : new Ticket[]{match.first, match.second}) {
+            t.state.set(CANCELLED);
+            tickets.remove(t.userId, t);
+        }
+    }
+
+    // 폴링이 끊긴(창 닫힘 등) 대기 티켓 / 오래된 결과 정리
+    @Scheduled(fixedDelay = 10_000)
+    public void expire() {
+        long now = System.nanoTime();
+        tickets.forEach((userId, ticket) -> {
+            long idle = now - ticket.lastSeenNanos;
+            int state = ticket.state.get();
+            if (state == WAITING && idle > waitingTtlNanos) {
+                cancel(userId);
+            } else if ((state == MATCHED || state == CANCELLED) && idle > matchedTtlNanos) {
+                tickets.remove(userId, ticket);
+            }
+        });
+    }
+
+    public static final class Ticket {
+        @Getter
+        private final Long userId;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        @Getter
+        private volatile Long roomId;
+        private volatile long lastSeenNanos = System.nanoTime();
+
+        private Ticket(Long userId) {
+            this.userId = userId;
+        }
+
+        public int getStatus() {
+            return state.get();
+        }
+
+        private void touch() {
+            lastSeenNanos = System.nanoTime();
+        }
+
+        private void finish(Long roomId) {
+            this.roomId = roomId;
+            state.set(MATCHED);
+            touch();
+        }
+    }
+
+    // 짝이 된 두 티켓 (first = 먼저 기다리던 사람)
+    @Getter
+    public static final class Match {
+        private final Ticket first;
+        private final Ticket second;
+
+        private Match(Ticket first, Ticket second) {
+            this.first = first;
+            this.second = second;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.moeim.chat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 방 참가자들의 읽음 위치(lastReadMessageId) 인덱스
+ * 요청마다 참가자 목록으로 한 번 만들고, 메시지마다 참가자를 다 도는 대신 이진 탐색으로 계산
+ * - 메시지별 안 읽은 인원 수 : O(log P)
+ * - 메시지를 읽은 사람 목록 : O(log P + 읽은 인원)
+ */
+public class ReadReceiptIndex {
+
+    // 읽음 위치 오름차순 (한 번도 안 읽었으면 0)
+    private final long[] lastReads;
+    // lastReads 와 같은 순서의 userId
+    private final Long[] userIds;
+    private final Map<Long, Long> lastReadByUser;
+
+    private ReadReceiptIndex(long[] lastReads, Long[] userIds, Map<Long, Long> lastReadByUser) {
+        this.lastReads = lastReads;
+        this.userIds = userIds;
+        this.lastReadByUser = lastReadByUser;
+    }
+
+    public static ReadReceiptIndex of(List<ChatParticipant> participants) {
+        return of(participants, Collections.emptyMap());
+    }
+
+    /**
+     * pendingReads: 아직 DB 에 반영 안 된 읽음 위치 (userId -> id, ChatReadMarkerBuffer)
+     */
+    public static ReadReceiptIndex of(List<ChatParticipant> participants, Map<Long, Long> pendingReads) {
+        int n = participants.size();
+        Integer[] order = new Integer[n];
+        long[] reads = new long[n];
+        Map<Long, Long> byUser = new HashMap<>(n * 2);
+
+        for (int i = 0; i < n; i++) {
+            ChatParticipant cp = participants.get(i);
+            Long lr = cp.getLastReadMessageId();
+            Long buffered = pendingReads.get(cp.getUser().getId());
+            reads[i] = Math.max(lr == null ? 0L : lr, buffered == null ? 0L : buffered);
+            order[i] = i;
+            byUser.put(cp.getUser().getId(), reads[i]);
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(reads[a], reads[b]));
+
+        long[] sortedReads = new long[n];
+        Long[] sortedUserIds = new Long[n];
+        for (int i = 0; i < n; i++) {
+            sortedReads[i] = reads[order[i]];
+            sortedUserIds[i] = participants.get(order[i]).getUser().getId();
+        }
+        return new ReadReceiptIndex(sortedReads, sortedUserIds, byUser);
+    }
+
+    /**
+     * 그룹방: 보낸 사람을 뺀 참가자 중 이 메시지를 아직 안 읽은 인원 수
+     */
+    public int unreadCount(long messageId, Long senderId) {
+        int unread = lowerBound(messageId); // lastRead < messageId 인 인원
+        Long senderRead = lastReadByUser.get(senderId);
+        if (senderRead != null && senderRead < messageId) {
+            unread--; // 보낸 사람 본인은 제외
+        }
+        return unread;
+    }
+
+    /**
+     * 이 메시지를 읽은 참가자 id 목록 (보낸 사람 제외, 최근에 읽은 순)
+     */
+    public List<Long> readerIds(long messageId, Long senderId) {
+        int from = lowerBound(messageId);
+        List<Long> readers = new ArrayList<>(lastReads.length - from);
+        for (int i = lastReads.length - 1; i >= from; i--) {
+            if (!userIds[i].equals(senderId)) {
+                readers.add(userIds[i]);
+            }
+        }
+        return readers.isEmpty() ? Collections.emptyList() : readers;
+    }
+
+    /**
+     * 1:1 방: 나를 뺀 참가자 중 가장 뒤처진 읽음 위치 (아무도 안 읽었으면 null)
+     */
+    public Long minLastReadExcept(Long userId) {
+        for (int i = 0; i < lastReads.length; i++) {
+            if (lastReads[i] > 0 && !userIds[i].equals(userId)) {
+                return lastReads[i];
+            }
+        }
+        return null;
+    }
+
+    // lastReads[i] >= messageId 인 첫 위치 (= messageId 를 안 읽은 인원 수)
+    private int lowerBound(long messageId) {
+        int lo = 0;
+        int hi = lastReads.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (lastReads[mid] < messageId) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,56 @@
+package com.moeim.global;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 검색용 토큰 분리 (글자 2개씩 = bigram), 채팅 검색과 모임 검색이 같이 씀
+ * 한국어는 띄어쓰기/조사 때문에 단어 단위로 자르면 잘 안 걸려서, 단어(글자/숫자 연속) 안에서 두 글자씩 자름
+ * 예) "모임장소 정해요" → 모임, 임장, 장소, 정해, 해요
+ * 대소문자는 글자 하나씩 소문자로만 바꿔서 원문과 글자 위치가 그대로 맞게 함 (하이라이트 위치 계산용)
+ */
+public final class BigramTokenizer {
+
+    public static final int TOKEN_LENGTH = 2;
+
+    private BigramTokenizer() {
+    }
+
+    public static String normalize(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 텍스트 → 단어 목록 (정규화됨)
+     */
+    public static List<String> words(String text) {
+        String normalized = normalize(text);
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                words.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * 단어 하나의 bigram 을 out 에 추가 (Set 이면 중복 제거, List 면 나온 횟수만큼)
+     * 한 글자짜리 단어는 bigram 이 없음
+     */
+    public static void addBigrams(String word, Collection<String> out) {
+        for (int i = 0; i + TOKEN_LENGTH <= word.length(); i++) {
+            out.add(word.substring(i, i + TOKEN_LENGTH));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.moeim.global;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * DB 에 남아 있는 이미지 바이트(BYTEA)를 BlobStore 파일로 옮기는 작업 (시작할 때 한 번, 별도 스레드)
+ * - 대상: groups.banner_image → banner_image_key, users.profile_image → profile_image_key
+ * - batch-size 개씩 id 만 읽고, 바이트는 한 행씩 읽어서 힙에 이미지가 하나만 올라오게
+ * - 옮긴 행은 키를 채우고 바이트 컬럼을 NULL 로 (그 사이 새로 올린 이미지가 있으면 그 키를 유지)
+ * - 같은 내용이면 같은 키라 여러 서버가 동시에 돌아도 결과는 같음
+ * - 예전 컬럼이 없는 DB(새로 만든 DB)면 옮길 것이 없으므로 건너뜀
+ */
+@Slf4j
+@Component
+public class BlobMigrationJob {
+
+    private static final List<Legacy> TARGETS = List.of(
+            new Legacy("groups", "group_id", "banner_image", "banner_image_key", "AND deleted_at IS NULL "),
+            new Legacy("users", "user_id", "profile_image", "profile_image_key", "")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlobStore blobStore;
+    private final int batchSize;
+
+    public BlobMigrationJob(
+            JdbcTemplate jdbcTemplate,
+            BlobStore blobStore,
+            @Value("${blob.migration.batch-size:50}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blobStore = blobStore;
+        this.batchSize = batchSize;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        for (Legacy target : TARGETS) {
+            try {
+                long moved = migrate(target);
+                if (moved > 0) {
+                    log.info("이미지 파일 이전 완료: {}.{} {}건", target.table, target.dataColumn, moved);
+                }
+            } catch (BadSqlGrammarException e) {
+                log.debug("이전할 컬럼 없음: {}.{}", target.table, target.dataColumn);
+            } catch (RuntimeException e) {
+                // 다음 시작 때 남은 행부터 다시
+                log.error("이미지 파일 이전 실패: {}.{}", target.table, target.dataColumn, e);
+            }
+        }
+    }
+
+    private long migrate(Legacy target) {
+        long moved = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(target.selectIdsSql, Long.class, batchSize);
+            if (ids.isEmpty()) return moved;
+
+            for (Long id : ids) {
+                List<byte[]> data = jdbcTemplate.query(target.selectDataSql, (rs, rowNum) -> rs.getBytes(1), id);
+                if (data.isEmpty() || data.get(0) == null) continue; // 그 사이 지워졌거나 이미 옮겨짐
+
+                String key = blobStore.put(data.get(0));
+                moved += jdbcTemplate.update(target.updateSql, key, id);
+            }
+        }
+    }
+
+    private static final class Legacy {
+        private final String table;
+        private final String dataColumn;
+        private final String selectIdsSql;
+        private final String selectDataSql;
+        private final String updateSql;
+
+        private Legacy(String table, String idColumn, String dataColumn, String keyColumn, String extraWhere) {
+            this.table = table;
+            this.dataColumn = dataColumn;
+            this.selectIdsSql = "SELECT " + idColumn + " FROM " + table + " WHERE " + dataColumn + " IS NOT NULL "
+                    + extraWhere + "ORDER BY " + idColumn + " LIMIT ?";
+            this.selectDataSql = "SELECT " + dataColumn + " FROM " + table + " WHERE " + idColumn + " = ?";
+            this.updateSql = "UPDATE " + table + " SET " + keyColumn + " = COALESCE(" + keyColumn + ", ?), "
+                    + dataColumn + " = NULL WHERE " + idColumn + " = ?";
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.moeim.global;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 이미지 파일 저장소 (file.upload-dir 아래, 내용의 SHA-256 값을 키/파일 이름으로)
+ * - 같은 내용은 한 파일만 (기본 배너처럼 여러 모임이 같은 이미지를 쓰면 한 번만 저장)
+ * - tmp 에 다 쓰고 fsync 후 rename → 읽는 쪽은 반쯤 쓰인 파일을 볼 일이 없음
+ * - 파일은 한번 쓰면 바뀌지 않음 (내용이 바뀌면 키가 바뀜)
+ * - 참조가 없어진 파일은 지우지 않음 (같은 키를 다른 행이 쓰고 있을 수 있어서)
+ */
+@Slf4j
+@Component
+public class BlobStore {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path root;
+    private final Path tmpDir;
+
+    public BlobStore(@Value("${file.upload-dir:./uploads}") String uploadDir) {
+        this.root = Path.of(uploadDir, "blobs").toAbsolutePath().normalize();
+        this.tmpDir = root.resolve("tmp");
+        try {
+            Files.createDirectories(tmpDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("업로드 디렉터리를 만들 수 없습니다: " + root, e);
+        }
+    }
+
+    // 저장하고 키 반환 (이미 있으면 쓰지 않고 키만)
+    public String put(byte[] data) {
+        String key = HEX.formatHex(sha256(data));
+        Path target = path(key);
+        if (Files.exists(target)) {
+            return key;
+        }
+
+        Path tmp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            tmp = Files.createTempFile(tmpDir, key, ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return key;
+        } catch (IOException e) {
+            throw new UncheckedIOException("파일을 저장하는 중 오류가 발생했습니다.", e);
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException e) {
+                    log.warn("임시 파일 삭제 실패: {}", tmp, e);
+                }
+            }
+        }
+    }
+
+    // 응답용 리소스 (없으면 null)
+    // 컨트롤러에서 ResponseEntity<Resource> 로 내리면 Range 요청은 스프링이 ResourceRegion(206)으로 잘라서 보냄
+    // 파일을 byte[] 로 통째로 읽지 않고 디스크에서 바로 흘려보냄
+    public Resource load(String key) {
+        if (key == null) return null;
+        Path path = path(key);
+        return Files.isRegularFile(path) ? new FileSystemResource(path) : null;
+    }
+
+    // ab/cd/abcd... 처럼 두 단계로 나눠서 한 디렉터리에 파일이 몰리지 않게
+    private Path path(String key) {
+        if (key.length() != 64 || !key.chars().allMatch(HexFormat::isHexDigit)) {
+            throw new IllegalArgumentException("잘못된 파일 키: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.moeim.global;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 한 번만 돌리는 데이터 보정 기록 (DataMigrations)
+ * 이름이 있으면 이미 끝난 것 → 재시작할 때마다 전체 테이블을 다시 훑지 않음
+ * 쓰기/조회는 JDBC 로 하고, 엔티티는 테이블 정의용
+ */
+@Entity
+@Getter
+@Table(name = "data_migrations")
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataMigration {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
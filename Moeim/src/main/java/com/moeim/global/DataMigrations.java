@@ -0,0 +1,43 @@
+package com.moeim.global;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 이름별로 한 번만 실행되는 데이터 보정
+ * - 기록 행 INSERT 와 보정을 같은 트랜잭션에서 → 보정이 실패하면 기록도 없어서 다음 기동 때 다시
+ * - 서버 여러 대가 동시에 시작해도 기록 행 PK 충돌로 한 대만 실행 (나머지는 먼저 한 쪽 커밋을 기다렸다가 건너뜀)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataMigrations {
+
+    private static final String EXISTS_SQL = "SELECT COUNT(*) FROM data_migrations WHERE name = ?";
+    private static final String INSERT_SQL = "INSERT INTO data_migrations (name, applied_at) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public void runOnce(String name, Runnable migration) {
+        Integer applied = jdbcTemplate.queryForObject(EXISTS_SQL, Integer.class, name);
+        if (applied != null && applied > 0) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(INSERT_SQL, name, Timestamp.valueOf(LocalDateTime.now()));
+                migration.run();
+            });
+            log.info("데이터 보정 완료: {}", name);
+        } catch (DuplicateKeyException e) {
+            log.debug("이미 실행한 데이터 보정: {}", name);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.moeim.global;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 요청(엔드포인트)별 SQL 실행 수 측정 (부하 테스트용, 기본 꺼짐)
+ * moeim.metrics.db-statements=true 로 켜면 /actuator/metrics/moeim.db.statements?tag=endpoint:GET /api/chat/unread-count 로 조회
+ * DataSource 를 감싸서 Statement 실행(execute*, JDBC 배치는 한 번)을 셈
+ * → Hibernate / JdbcTemplate / 묶음 저장기(chat-writer 풀) 모두 포함
+ * 태그: endpoint (요청 밖이면 background, 묶음 저장기도 여기), pool (main / chat-writer)
+ */
+@Configuration
+@ConditionalOnProperty(name = "moeim.metrics.db-statements", havingValue = "true")
+public class DbStatementMetrics {
+
+    public static final String METRIC_NAME = "moeim.db.statements";
+
+    @Bean
+    public StatementCounter statementCounter(MeterRegistry meterRegistry) {
+        return new StatementCounter(meterRegistry);
+    }
+
+    // 스프링 빈 DataSource 를 감쌈 (chat-writer 풀은 빈이 아니라서 ChatMessageWriter 가 직접 감쌈)
+    @Bean
+    public static BeanPostProcessor dataSourceStatementCounter(ObjectProvider<StatementCounter> statementCounter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return (bean instanceof DataSource dataSource)
+                        ? statementCounter.getObject().wrap(dataSource, "main") : bean;
+            }
+        };
+    }
+
+    public static class StatementCounter {
+
+        private final MeterRegistry meterRegistry;
+        // (엔드포인트, 풀) -> 카운터 (매번 레지스트리에서 찾지 않도록)
+        private final Map<List<String>, Counter> counters = new ConcurrentHashMap<>();
+
+        StatementCounter(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        /**
+         * 이 DataSource 에서 나온 커넥션 → Statement 를 감싸서 실행할 때마다 셈 (unwrap 은 원래 객체로)
+         */
+        public DataSource wrap(DataSource dataSource, String pool) {
+            return proxy(DataSource.class, dataSource, pool);
+        }
+
+        private void count(String pool) {
+            String endpoint = currentEndpoint();
+            counters.computeIfAbsent(List.of(endpoint, pool),
+                    key -> Counter.builder(METRIC_NAME).tag("endpoint", endpoint).tag("pool", pool).register(meterRegistry))
+                    .increment();
+        }
+
+        private <T> T proxy(Class<T> type, Object target, String pool) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    new CountingHandler(target, pool)));
+        }
+
+        // DataSource.getConnection → Connection, Connection.prepareStatement 등 → Statement 순으로 감싸 내려감
+        private final class CountingHandler implements InvocationHandler {
+
+            private final Object target;
+            private final String pool;
+
+            private CountingHandler(Object target, String pool) {
+                this.target = target;
+                this.pool = pool;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        break;
+                }
+                if (target instanceof Statement && method.getName().startsWith("execute")) {
+                    count(pool);
+                }
+
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+
+                Class<?> returnType = method.getReturnType();
+                if (result instanceof Connection && returnType == Connection.class) {
+                    return proxy(Connection.class, result, pool);
+                }
+                if (result instanceof Statement && Statement.class.isAssignableFrom(returnType)) {
+                    return proxy(returnType, result, pool);
+                }
+                return result;
+            }
+        }
+
+        // "GET /api/chat/rooms/{roomId}/messages" 처럼 매핑 패턴으로 (요청 밖이면 background)
+        private static String currentEndpoint() {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+                return "background";
+            }
+            HttpServletRequest request = servletAttributes.getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return request.getMethod() + " " + (pattern != null ? pattern : "unmapped");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.moeim.global;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 큰 소모임/채팅방 삭제 작업 (DeletionJobRunner)
+ * 요청에서는 삭제 표시 + 이 행 INSERT 만 하고, 자식 행은 러너가 나눠서 지움
+ * step/deleted_rows 는 한 묶음 지울 때마다 같은 트랜잭션에서 갱신 → 재시작하면 그 단계부터 이어서
+ * 쓰기/조회는 JDBC 로 하고, 엔티티는 테이블 정의용
+ */
+@Entity
+@Getter
+@Table(name = "deletion_jobs",
+        uniqueConstraints = @UniqueConstraint(name = "uk_deletion_jobs_target", columnNames = {"target_type", "target_id"}))
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeletionJob {
+
+    public enum TargetType {
+        GROUP,
+        CHAT_ROOM
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 20)
+    private TargetType targetType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    // 지금 하고 있는 단계 (DeletionJobRunner 의 단계 목록 순번)
+    @Column(nullable = false)
+    private int step;
+
+    @Column(name = "deleted_rows", nullable = false)
+    private long deletedRows;
+
+    // 이 시각까지는 다른 서버가 가져가지 않음 (서버가 죽으면 지나서 다른 서버/재시작한 서버가 이어서)
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,215 @@
+package com.moeim.global;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 소모임/채팅방 삭제의 뒷정리 (요청 트랜잭션에서 한 번에 지우면 테이블을 오래 잡고 요청이 타임아웃 나므로)
+ * - 요청: 삭제 표시(deleted_at) + 참가/멤버 행 삭제 + enqueue → 화면에서는 바로 사라짐
+ * - 러너: 자식 테이블을 단계별로 chunk-size 행씩 지움, 한 묶음마다 진행 상황을 같은 트랜잭션에 기록
+ *   마지막 단계에서 남은 자식이 없을 때만 본 행 삭제 (그 사이 들어온 행이 있으면 처음 단계부터 다시)
+ * - 한 번 실행에 max-millis-per-run 까지만 (스케줄러 스레드를 다른 작업과 같이 쓰므로), 나머지는 다음 틱에
+ * - 서버가 여러 대면 locked_until 로 한 서버만 가져감, 죽으면 lease 가 지나서 다른 서버가 이어서
+ */
+@Slf4j
+@Component
+public class DeletionJobRunner {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO deletion_jobs (target_type, target_id, step, deleted_rows, created_at) VALUES (?, ?, 0, 0, ?)";
+    private static final String SELECT_READY_SQL =
+            "SELECT id, target_type, target_id, step FROM deletion_jobs " +
+            "WHERE locked_until IS NULL OR locked_until < ? ORDER BY id LIMIT 10";
+    private static final String CLAIM_SQL =
+            "UPDATE deletion_jobs SET locked_until = ? WHERE id = ? AND step = ? " +
+            "AND (locked_until IS NULL OR locked_until < ?)";
+    private static final String PROGRESS_SQL =
+            "UPDATE deletion_jobs SET step = ?, deleted_rows = deleted_rows + ?, locked_until = ? WHERE id = ?";
+    private static final String RESTART_SQL =
+            "UPDATE deletion_jobs SET step = 0, locked_until = NULL WHERE id = ?";
+    private static final String RELEASE_SQL =
+            "UPDATE deletion_jobs SET locked_until = NULL WHERE id = ?";
+    private static final String FINISH_SQL =
+            "DELETE FROM deletion_jobs WHERE id = ?";
+
+    private static final long LEASE_SECONDS = 60;
+
+    // 단계마다 (대상 id, 묶음 크기) 를 받아 최대 묶음 크기만큼 지우는 SQL
+    private static final Map<DeletionJob.TargetType, List<String>> STEPS = Map.of(
+            DeletionJob.TargetType.CHAT_ROOM, List.of(
+                    "DELETE FROM chat_participants WHERE id IN " +
+                    "(SELECT id FROM chat_participants WHERE chat_room_id = ? LIMIT ?)",
+                    "DELETE FROM chat_search_postings WHERE (chat_room_id, token, message_id) IN " +
+                    "(SELECT chat_room_id, token, message_id FROM chat_search_postings WHERE chat_room_id = ? LIMIT ?)",
+                    "DELETE FROM chat_messages WHERE id IN " +
+                    "(SELECT id FROM chat_messages WHERE chat_room_id = ? ORDER BY id LIMIT ?)",
+                    "DELETE FROM chat_message_archives WHERE id IN " +
+                    "(SELECT id FROM chat_message_archives WHERE chat_room_id = ? LIMIT ?)"
+            ),
+            DeletionJob.TargetType.GROUP, List.of(
+                    "DELETE FROM group_users WHERE group_user_id IN " +
+                    "(SELECT group_user_id FROM group_users WHERE group_id = ? LIMIT ?)",
+                    "DELETE FROM group_join_request WHERE join_request_id IN " +
+                    "(SELECT join_request_id FROM group_join_request WHERE group_id = ? LIMIT ?)",
+                    "DELETE FROM group_reviews WHERE group_review_id IN " +
+                    "(SELECT group_review_id FROM group_reviews WHERE group_id = ? LIMIT ?)",
+                    "DELETE FROM schedules WHERE schedule_id IN " +
+                    "(SELECT schedule_id FROM schedules WHERE group_id = ? LIMIT ?)"
+            )
+    );
+
+    // 마지막 단계: 자식이 하나도 없을 때만 본 행 삭제 (? 는 모두 대상 id)
+    // 지우는 도중 묶음 저장기가 넣은 메시지가 있으면 0 행 → 처음 단계부터 다시
+    private static final Map<DeletionJob.TargetType, String> FINAL_STEPS = Map.of(
+            DeletionJob.TargetType.CHAT_ROOM,
+            "DELETE FROM chatrooms WHERE id = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM chat_participants WHERE chat_room_id = ?) " +
+            "AND NOT EXISTS (SELECT 1 FROM chat_search_postings WHERE chat_room_id = ?) " +
+            "AND NOT EXISTS (SELECT 1 FROM chat_messages WHERE chat_room_id = ?) " +
+            "AND NOT EXISTS (SELECT 1 FROM chat_message_archives WHERE chat_room_id = ?)",
+            DeletionJob.TargetType.GROUP,
+            "DELETE FROM groups WHERE group_id = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM group_users WHERE group_id = ?) " +
+            "AND NOT EXISTS (SELECT 1 FROM group_join_request WHERE group_id = ?) " +
+            "AND NOT EXISTS (SELECT 1 FROM group_reviews WHERE group_id = ?) " +
+            "AND NOT EXISTS (SELECT 1 FROM schedules WHERE group_id = ?)"
+    );
+
+    private static final Map<DeletionJob.TargetType, String> EXISTS_SQL = Map.of(
+            DeletionJob.TargetType.CHAT_ROOM, "SELECT COUNT(*) FROM chatrooms WHERE id = ?",
+            DeletionJob.TargetType.GROUP, "SELECT COUNT(*) FROM groups WHERE group_id = ?"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long maxNanosPerRun;
+
+    public DeletionJobRunner(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${deletion-job.chunk-size:500}") int chunkSize,
+            @Value("${deletion-job.max-millis-per-run:500}") long maxMillisPerRun
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.maxNanosPerRun = TimeUnit.MILLISECONDS.toNanos(maxMillisPerRun);
+    }
+
+    /**
+     * 삭제 작업 등록 (호출한 트랜잭션에 같이 들어감 → 삭제 표시가 롤백되면 작업도 없음)
+     */
+    public void enqueue(DeletionJob.TargetType targetType, Long targetId) {
+        jdbcTemplate.update(INSERT_SQL, targetType.name(), targetId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    // ───────────────── 틱: 대기 중인 작업을 시간 한도까지 ─────────────────
+
+    @Scheduled(fixedDelayString = "${deletion-job.poll-interval-ms:1000}")
+    public void runPending() {
+        long deadline = System.nanoTime() + maxNanosPerRun;
+
+        List<Job> jobs = jdbcTemplate.query(SELECT_READY_SQL, (rs, rowNum) -> new Job(
+                rs.getLong("id"),
+                DeletionJob.TargetType.valueOf(rs.getString("target_type")),
+                rs.getLong("target_id"),
+                rs.getInt("step")
+        ), now());
+
+        for (Job job : jobs) {
+            if (System.nanoTime() > deadline) return;
+            if (!claim(job)) continue; // 다른 서버가 가져감
+
+            try {
+                run(job, deadline);
+            } catch (DataIntegrityViolationException e) {
+                // 단계에 없는 테이블이 아직 참조 중 → lease 가 지나면 다시
+                log.warn("삭제 작업 보류: {} {} ({})", job.targetType, job.targetId, e.getMostSpecificCause().getMessage());
+            } catch (RuntimeException e) {
+                log.warn("삭제 작업 실패: {} {}", job.targetType, job.targetId, e);
+            }
+        }
+    }
+
+    private boolean claim(Job job) {
+        Timestamp now = now();
+        return jdbcTemplate.update(CLAIM_SQL, lease(), job.id, job.step, now) == 1;
+    }
+
+    private void run(Job job, long deadline) {
+        List<String> steps = STEPS.get(job.targetType);
+
+        while (job.step < steps.size()) {
+            if (System.nanoTime() > deadline) {
+                jdbcTemplate.update(RELEASE_SQL, job.id); // 다음 틱에 어느 서버든 이어서
+                return;
+            }
+            String sql = steps.get(job.step);
+            int rows = transactionTemplate.execute(status -> {
+                int deleted = jdbcTemplate.update(sql, job.targetId, chunkSize);
+                int next = deleted < chunkSize ? job.step + 1 : job.step;
+                jdbcTemplate.update(PROGRESS_SQL, next, deleted, lease(), job.id);
+                return deleted;
+            });
+            if (rows < chunkSize) {
+                job.step++;
+            }
+        }
+
+        Boolean finished = transactionTemplate.execute(status -> {
+            String sql = FINAL_STEPS.get(job.targetType);
+            int deleted = jdbcTemplate.update(sql, sameIdFor(sql, job.targetId));
+            Integer remaining = jdbcTemplate.queryForObject(EXISTS_SQL.get(job.targetType), Integer.class, job.targetId);
+            if (deleted == 0 && remaining != null && remaining > 0) {
+                jdbcTemplate.update(RESTART_SQL, job.id);
+                return false;
+            }
+            jdbcTemplate.update(FINISH_SQL, job.id);
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(finished)) {
+            log.info("삭제 작업 완료: {} {}", job.targetType, job.targetId);
+        }
+    }
+
+    private static Object[] sameIdFor(String sql, Long id) {
+        int params = (int) sql.chars().filter(c -> c == '?').count();
+        return Collections.nCopies(params, id).toArray();
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    private static Timestamp lease() {
+        return Timestamp.valueOf(LocalDateTime.now().plusSeconds(LEASE_SECONDS));
+    }
+
+    private static final class Job {
+        private final long id;
+        private final DeletionJob.TargetType targetType;
+        private final long targetId;
+        private int step;
+
+        private Job(long id, DeletionJob.TargetType targetType, long targetId, int step) {
+            this.id = id;
+            this.targetType = targetType;
+            this.targetId = targetId;
+            this.step = step;
+        }
+    }
+}
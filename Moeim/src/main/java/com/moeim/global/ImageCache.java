@@ -0,0 +1,159 @@
+package com.moeim.global;
+
+import com.moeim.group.GroupChangedEvent;
+import com.moeim.user.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 프로필 이미지/모임 배너 응답 캐시 (채팅창 메시지마다, 모임 카드마다 엔티티 조회 + 파일 읽기를 하던 것 대신)
+ * - 참조: "user:{id}" / "group:{id}" -> ImageRef, ttl 동안 최대 max-refs 개 (바뀌면 커밋 후 제거)
+ * - 바이트: BlobStore 키 -> 이미지 바이트, 합계 max-bytes 까지 최근 사용 순 (키가 내용 해시라 제거할 일 없음)
+ *   max-entry-bytes 보다 큰 이미지는 캐시하지 않고 파일에서 바로
+ * - ETag 는 BlobStore 키 → If-None-Match 가 맞으면 304 (참조만 보고 바이트는 읽지 않음)
+ * - URL 의 ?v= 가 현재 버전이면 1년 immutable, 아니면 unversioned-max-age 동안만 두고 ETag 로 재검증
+ */
+@Component
+public class ImageCache {
+
+    public static final String USER = "user:";
+    public static final String GROUP = "group:";
+
+    private static final CacheControl VERSIONED = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    private final BlobStore blobStore;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final CacheControl unversioned;
+
+    // 이름 -> 참조 (없는 것도 null 로 캐시)
+    private final TtlCache<String, ImageRef> refs;
+
+    // BlobStore 키 -> 바이트 (접근 순서, synchronized 로 보호)
+    private final LinkedHashMap<String, byte[]> bytes = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public ImageCache(
+            BlobStore blobStore,
+            @Value("${image-cache.ref-ttl-seconds:30}") long refTtlSeconds,
+            @Value("${image-cache.max-refs:10000}") int maxRefs,
+            @Value("${image-cache.max-bytes:33554432}") long maxBytes,
+            @Value("${image-cache.max-entry-bytes:1048576}") long maxEntryBytes,
+            @Value("${image-cache.unversioned-max-age-seconds:60}") long unversionedMaxAgeSeconds
+    ) {
+        this.blobStore = blobStore;
+        this.refs = new TtlCache<>(refTtlSeconds, maxRefs);
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.unversioned = CacheControl.maxAge(unversionedMaxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+    }
+
+    /**
+     * 이미지 응답 (없으면 404, If-None-Match 가 맞으면 304)
+     * name: USER/GROUP + id, loader: 캐시에 없을 때 DB 에서 참조 조회
+     */
+    public ResponseEntity<Resource> serve(String name, Supplier<Optional<ImageRef>> loader,
+                                          Long requestedVersion, String ifNoneMatch) {
+        ImageRef ref = refs.get(name, n -> loader.get().orElse(null));
+        if (ref == null || ref.getKey() == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        CacheControl cacheControl = (requestedVersion != null && requestedVersion == ref.getVersion())
+                ? VERSIONED : unversioned;
+        if (matches(ifNoneMatch, ref.getKey())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(ref.getKey())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        Resource body = load(ref.getKey());
+        if (body == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String contentType = ref.getContentType();
+        if (contentType == null || contentType.isBlank()) {
+            contentType = "image/png";
+        }
+        return ResponseEntity.ok()
+                .eTag(ref.getKey())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.parseMediaType(contentType))
+                .body(body);
+    }
+
+    public void evict(String name) {
+        refs.evict(name);
+    }
+
+    // 커밋 전에 지우면 그 사이 다른 요청이 옛 값을 다시 넣을 수 있으므로 커밋 후에
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(USER + event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGroupChanged(GroupChangedEvent event) {
+        evict(GROUP + event.getGroupId());
+    }
+
+    // 캐시된 바이트, 없으면 파일에서 읽어 넣음 (큰 이미지는 파일 그대로)
+    private Resource load(String key) {
+        synchronized (bytes) {
+            byte[] cached = bytes.get(key);
+            if (cached != null) return new ByteArrayResource(cached);
+        }
+
+        Resource file = blobStore.load(key);
+        if (file == null) return null;
+
+        try {
+            if (file.contentLength() > maxEntryBytes) {
+                return file;
+            }
+            byte[] data = file.getContentAsByteArray();
+            synchronized (bytes) {
+                if (bytes.putIfAbsent(key, data) == null) {
+                    totalBytes += data.length;
+                    Iterator<byte[]> eldest = bytes.values().iterator();
+                    while (totalBytes > maxBytes && eldest.hasNext()) {
+                        totalBytes -= eldest.next().length;
+                        eldest.remove();
+                    }
+                }
+            }
+            return new ByteArrayResource(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("이미지 파일을 읽는 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    // If-None-Match: "키" / W/"키" / 여러 개 / *
+    private static boolean matches(String ifNoneMatch, String key) {
+        if (ifNoneMatch == null) return false;
+        String etag = "\"" + key + "\"";
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) value = value.substring(2);
+            if (value.equals(etag) || value.equals("*")) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.moeim.global;
+
+import lombok.Getter;
+
+/**
+ * 이미지 참조 (BlobStore 키 + MIME 타입 + 버전)
+ * 키가 내용의 SHA-256 이라 그대로 ETag 로 씀, 버전은 이미지 URL 의 ?v= 값
+ */
+@Getter
+public class ImageRef {
+    private final String key;
+    private final String contentType;
+    private final long version;
+
+    // JPQL "SELECT new com.moeim.global.ImageRef(...)" 에서 호출
+    public ImageRef(String key, String contentType, long version) {
+        this.key = key;
+        this.contentType = contentType;
+        this.version = version;
+    }
+}
@@ -3,8 +3,9 @@
 package com.moeim.global;
 
 import com.moeim.group.GroupService;
-import com.moeim.user.User;
+import com.moeim.user.SessionUser;
 import com.moeim.user.UserService;
+import com.moeim.user.UserSnapshot;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -21,11 +22,11 @@ public class MainController {
     @GetMapping("/")
     public String main(Model model, HttpSession session) {
 
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
 
         if (sessionUser != null) { // 유저 로그인 중이면 관심사 기반 추천
             // 최신 정보 갖고오기
-            User user = userService.getUserById(sessionUser.getId());
+            UserSnapshot user = userService.getSnapshot(sessionUser.getId());
             // 관심사 기반 추천 서비스 호출
             model.addAttribute("recruitingGroups", groupService.getRecommendedGroups(user.getId(), user.getInterestCategoryIds(),10));
 
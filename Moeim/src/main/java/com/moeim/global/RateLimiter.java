@@ -0,0 +1,77 @@
+package com.moeim.global;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키(유저 id, 방 id 등)별 토큰 버킷 (잠금 없이 CAS 한 번)
+ * 버킷마다 "다음 토큰이 완전히 차는 시각"(TAT) 하나만 저장 → 초당 perSecond 개씩 차고 최대 burst 개까지 한 번에 허용
+ * 허용될 때는 객체를 만들지 않음 (처음 보는 키만 버킷 생성)
+ * 메트릭: rate_limit.requests{limiter, result=allowed|rejected}, rate_limit.buckets{limiter}
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;       // 토큰 하나가 차는 시간
+    private final long burstToleranceNanos; // 미리 당겨 쓸 수 있는 시간 ((burst - 1) 개 분량)
+    private final long origin = System.nanoTime();
+
+    private final Map<Long, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final Counter allowed;
+    private final Counter rejected;
+
+    public RateLimiter(String name, double perSecond, int burst, MeterRegistry meterRegistry) {
+        if (perSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("요청 제한 설정이 올바르지 않습니다: " + name);
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+        this.burstToleranceNanos = intervalNanos * (burst - 1);
+
+        this.allowed = Counter.builder("rate_limit.requests").tag("limiter", name).tag("result", "allowed")
+                .description("요청 제한을 통과한 수").register(meterRegistry);
+        this.rejected = Counter.builder("rate_limit.requests").tag("limiter", name).tag("result", "rejected")
+                .description("요청 제한에 걸린 수").register(meterRegistry);
+        Gauge.builder("rate_limit.buckets", buckets, Map::size).tag("limiter", name).register(meterRegistry);
+    }
+
+    /**
+     * 토큰 하나 사용 → 허용이면 0, 아니면 다시 시도할 수 있을 때까지 남은 나노초
+     */
+    public long tryAcquire(Long key) {
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong());
+        }
+
+        long now = System.nanoTime() - origin;
+        while (true) {
+            long current = tat.get();
+            long start = Math.max(current, now);
+            long waitNanos = start - now - burstToleranceNanos;
+            if (waitNanos > 0) {
+                rejected.increment();
+                return waitNanos;
+            }
+            if (tat.compareAndSet(current, start + intervalNanos)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 다 찬 버킷 정리 (새로 만든 것과 같으므로 지워도 됨) → 지운 수
+     */
+    public int removeFullBuckets() {
+        long now = System.nanoTime() - origin;
+        int before = buckets.size();
+        buckets.values().removeIf(tat -> tat.get() <= now);
+        return before - buckets.size();
+    }
+}
@@ -0,0 +1,70 @@
+package com.moeim.global;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * ttl 동안 최대 maxSize 개까지 보관하는 메모리 캐시 (최근 사용 순으로 밀어냄)
+ * - 없으면 loader 로 읽어서 넣음 (잠금 밖에서 읽음 → 같은 키를 동시에 읽으면 둘 다 읽을 수 있음)
+ * - loader 가 null 을 돌려주면 null 도 캐시 (없는 id 로 계속 들어오는 요청도 DB 까지 안 가게)
+ * - evict 는 커밋 후에 부르는 쪽에서 (UserSnapshotCache / JoinedGroupCache / ImageCache 의 이벤트 리스너)
+ */
+public class TtlCache<K, V> {
+
+    private final long ttlNanos;
+
+    // 키 -> 값 (접근 순서, synchronized 로 보호)
+    private final Map<K, Entry<V>> entries;
+
+    // 제거가 일어날 때마다 증가 → DB 에서 읽는 도중 제거됐으면 읽은 값을 넣지 않음
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TtlCache(long ttlSeconds, int maxSize) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && now - entry.loadedAt < ttlNanos) {
+                return entry.value;
+            }
+        }
+
+        long version = invalidations.get();
+        V value = loader.apply(key);
+        synchronized (entries) {
+            if (invalidations.get() == version) {
+                entries.put(key, new Entry<>(value, now));
+            }
+        }
+        return value;
+    }
+
+    public void evict(K key) {
+        invalidations.incrementAndGet();
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long loadedAt;
+
+        private Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.moeim.global;
+
+import com.moeim.user.SessionUserInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final SessionUserInterceptor sessionUserInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 정적 파일/프로필 이미지는 로그인 정보와 상관없음
+        registry.addInterceptor(sessionUserInterceptor)
+                .excludePathPatterns("/css/**", "/js/**", "/images/**", "/favicon.ico", "/user/profile-image/**");
+    }
+}
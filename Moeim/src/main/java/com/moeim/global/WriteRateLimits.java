@@ -0,0 +1,63 @@
+package com.moeim.global;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쓰기 요청 제한 (스크립트 하나가 메시지/글 INSERT 로 커넥션 풀을 다 잡지 않도록)
+ * - 채팅 전송: 유저별 + 방별
+ * - 게시글/댓글 작성: 유저별
+ * 넘으면 TooManyRequestsException (429, Retry-After)
+ * 서버마다 따로 셈 (서버가 여러 대면 전체 한도는 대수만큼 늘어남)
+ */
+@Component
+public class WriteRateLimits {
+
+    private final RateLimiter chatSendPerUser;
+    private final RateLimiter chatSendPerRoom;
+    private final RateLimiter postWritePerUser;
+
+    public WriteRateLimits(
+            MeterRegistry meterRegistry,
+            @Value("${rate-limit.chat-send-user.per-second:2}") double chatUserPerSecond,
+            @Value("${rate-limit.chat-send-user.burst:10}") int chatUserBurst,
+            @Value("${rate-limit.chat-send-room.per-second:30}") double chatRoomPerSecond,
+            @Value("${rate-limit.chat-send-room.burst:100}") int chatRoomBurst,
+            @Value("${rate-limit.post-write-user.per-second:0.2}") double postUserPerSecond,
+            @Value("${rate-limit.post-write-user.burst:5}") int postUserBurst
+    ) {
+        this.chatSendPerUser = new RateLimiter("chat_send_user", chatUserPerSecond, chatUserBurst, meterRegistry);
+        this.chatSendPerRoom = new RateLimiter("chat_send_room", chatRoomPerSecond, chatRoomBurst, meterRegistry);
+        this.postWritePerUser = new RateLimiter("post_write_user", postUserPerSecond, postUserBurst, meterRegistry);
+    }
+
+    // 유저 먼저 (한 명이 방 한도를 다 쓰지 않도록), 방 한도에 걸리면 유저 토큰 하나는 그냥 쓴 것으로
+    public void checkChatSend(Long userId, Long roomId) {
+        check(chatSendPerUser, userId, "메시지를 너무 빠르게 보내고 있습니다. 잠시 후 다시 시도해 주세요.");
+        check(chatSendPerRoom, roomId, "이 채팅방에 메시지가 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    public void checkPostWrite(Long userId) {
+        check(postWritePerUser, userId, "글을 너무 빠르게 작성하고 있습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    private static void check(RateLimiter limiter, Long key, String message) {
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos > 0) {
+            long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            throw new TooManyRequestsException(message, seconds);
+        }
+    }
+
+    // 한동안 안 쓴 키 정리
+    @Scheduled(fixedDelay = 60_000)
+    public void cleanup() {
+        chatSendPerUser.removeFullBuckets();
+        chatSendPerRoom.removeFullBuckets();
+        postWritePerUser.removeFullBuckets();
+    }
+}
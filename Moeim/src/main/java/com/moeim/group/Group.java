@@ -9,12 +9,17 @@ import com.moeim.review.groupreview.GroupReview;
 import com.moeim.schedule.Schedule;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "groups")
+@Table(name = "groups",
+        indexes = @Index(name = "idx_groups_updated_at", columnList = "updated_at")) // 검색 색인 동기화용
+@SQLRestriction("deleted_at IS NULL") // 삭제 표시된 모임은 목록/조회에서 빠짐 (실제 삭제는 DeletionJobRunner)
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -37,18 +42,26 @@ public class Group extends BaseTimeEntity {
 
     //    @Column(name = "banner_picture")
 //    private String bannerPicture;
-    @Column(name = "banner_image", columnDefinition = "BYTEA")
-    private byte[] bannerImage;
-
-    @Column(name = "banner_image_type")
+    // 배너 바이트(banner_image)는 GroupBanner 로만 읽고 씀 (목록/연관 조회마다 최대 20MB 씩 딸려오지 않게)
+    // 타입/버전도 GroupBanner 에서만 바꿈 → 여기서는 읽기 전용 (수정 화면에서 save 해도 덮어쓰지 않음)
+    @Column(name = "banner_image_type", insertable = false, updatable = false)
     private String bannerImageType;
 
+    // 배너가 바뀔 때마다 +1 (이미지 URL 의 ?v= 로 써서 브라우저 캐시를 갈아끼움)
+    @ColumnDefault("0")
+    @Column(name = "banner_version", nullable = false, insertable = false, updatable = false)
+    private long bannerVersion;
+
     @Column(name = "now_count", nullable = false)
     private long nowCount = 1;
 
     @Column(name = "max_count", nullable = false)
     private long maxCount = 2;
 
+    // 삭제 표시 시각 (자식 행 정리가 끝나면 행 자체가 지워짐)
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     @OneToMany(mappedBy = "group", cascade = CascadeType.ALL,
             fetch = FetchType.LAZY, orphanRemoval = true)
     private List<GroupUser> members = new ArrayList<>();
@@ -75,6 +88,10 @@ public class Group extends BaseTimeEntity {
         this.description = description != null ? description : "";
         this.maxCount = maxCount;
     }
+
+    public boolean isHasBanner() {
+        return bannerImageType != null;
+    }
 //  TODO: 아래 필드 추개해 그룹한개랑 chatroom 묶기
 //    @OneToOne(mappedBy = "group", fetch = FetchType.LAZY)
 //    private ChatRoom chatRoom;
@@ -0,0 +1,38 @@
+package com.moeim.group;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
+
+/**
+ * 모임 배너 (groups 테이블의 배너 컬럼만 따로 매핑한 엔티티)
+ * - 이미지 바이트는 BlobStore 파일로, 여기에는 그 키만 (예전 banner_image 컬럼은 BlobMigrationJob 이 옮기고 비움)
+ * - 행은 Group 저장 시 생기고, 여기서는 GroupBannerRepository.updateBanner 로 배너 컬럼만 바꿈
+ */
+@Entity
+@Table(name = "groups")
+@SQLRestriction("deleted_at IS NULL")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class GroupBanner {
+
+    @Id
+    @Column(name = "group_id")
+    private Long groupId;
+
+    @Column(name = "banner_image_key", length = 64)
+    private String imageKey;
+
+    @Column(name = "banner_image_type")
+    private String imageType;
+
+    @ColumnDefault("0")
+    @Column(name = "banner_version", nullable = false)
+    private long version;
+}
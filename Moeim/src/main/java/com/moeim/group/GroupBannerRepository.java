@@ -0,0 +1,25 @@
+package com.moeim.group;
+
+import com.moeim.global.ImageRef;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface GroupBannerRepository extends JpaRepository<GroupBanner, Long> {
+
+    // 배너 교체 + 버전 증가 (영속성 컨텍스트에 남은 Group 의 옛 타입/버전은 비움)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GroupBanner b SET b.imageKey = :imageKey, b.imageType = :imageType, b.version = b.version + 1 " +
+            "WHERE b.groupId = :groupId")
+    int updateBanner(@Param("groupId") Long groupId,
+                     @Param("imageKey") String imageKey,
+                     @Param("imageType") String imageType);
+
+    // /group/banner 용 (ImageCache 참조)
+    @Query("SELECT new com.moeim.global.ImageRef(b.imageKey, b.imageType, b.version) " +
+            "FROM GroupBanner b WHERE b.groupId = :groupId")
+    Optional<ImageRef> findImageRef(@Param("groupId") Long groupId);
+}
@@ -0,0 +1,32 @@
+package com.moeim.group;
+
+import lombok.Getter;
+
+/**
+ * 목록/추천 카드용 모임 요약 (Group 엔티티 대신 필요한 컬럼만 조회)
+ * 배너는 있는지 여부와 버전만 → 이미지는 /group/banner/{id}?v={bannerVersion} 로 따로 받음
+ */
+@Getter
+public class GroupCard {
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final String categoryTitle;
+    private final long nowCount;
+    private final long maxCount;
+    private final boolean hasBanner;
+    private final long bannerVersion;
+
+    // JPQL "SELECT new com.moeim.group.GroupCard(...)" 에서 호출
+    public GroupCard(Long id, String title, String description, String categoryTitle,
+                     long nowCount, long maxCount, String bannerImageType, long bannerVersion) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.categoryTitle = categoryTitle;
+        this.nowCount = nowCount;
+        this.maxCount = maxCount;
+        this.hasBanner = bannerImageType != null;
+        this.bannerVersion = bannerVersion;
+    }
+}
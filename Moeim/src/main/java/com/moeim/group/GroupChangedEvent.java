@@ -0,0 +1,13 @@
+package com.moeim.group;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 모임 생성/수정/인원 변경/삭제 → 커밋 후 GroupSearchIndex 에서 그 모임만 다시 읽음
+ */
+@Getter
+@RequiredArgsConstructor
+public class GroupChangedEvent {
+    private final Long groupId;
+}
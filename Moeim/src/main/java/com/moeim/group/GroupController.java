@@ -5,20 +5,24 @@ package com.moeim.group;
 import com.moeim.category.CategoryRepository;
 import com.moeim.chat.ChatRoom;
 import com.moeim.chat.ChatRoomService;
+import com.moeim.chat.PresenceRegistry;
+import com.moeim.global.ImageCache;
 import com.moeim.global.enums.PositionType;
 import com.moeim.review.groupreview.GroupReviewService;
 import com.moeim.review.groupreview.GroupReviewStatsDTO;
 import com.moeim.review.userreview.UserReviewService;
 import com.moeim.schedule.Schedule;
 import com.moeim.schedule.ScheduleRepository;
+import com.moeim.user.SessionUser;
 import com.moeim.user.User;
+import com.moeim.user.UserService;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
@@ -48,18 +52,24 @@ public class GroupController {
     private final UserReviewService userReviewService;
     private final ChatRoomService chatRoomService;
     private final GroupUserService groupUserService;
+    private final PresenceRegistry presenceRegistry;
+    private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImageCache imageCache;
 
+    // 연관관계/조회 조건에 넣을 로그인 유저 (세션에는 id 만 있으므로 참조로)
     private User requireLogin(HttpSession session) {
-        User loginUser = (User) session.getAttribute("user");
-        if (loginUser == null) {
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
+        if (sessionUser == null) {
             throw new IllegalStateException("로그인이 필요합니다.");
         }
-        return loginUser;
+        return userService.getUserReference(sessionUser.getId());
     }
 
     @GetMapping("/form")
     public String form(HttpSession session) {
-        if (session.getAttribute("user") == null) {
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
+        if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
         return "group/group_form";
@@ -94,28 +104,31 @@ public class GroupController {
                         .orElseThrow(() -> new IllegalArgumentException("잘못된 카테고리"))
         );
 
+        byte[] bannerImage;
+        String bannerImageType;
         if (bannerFile == null || bannerFile.isEmpty()) {
 
             ClassPathResource defaultImg = new ClassPathResource("static/images/default_banner.jpg");
             // getInputStream()을 사용하여 JAR 내부의 데이터를 직접 읽어옵니다.
             try (InputStream is = defaultImg.getInputStream()) {
-                byte[] imgBytes = is.readAllBytes();
-                group.setBannerImage(imgBytes);
+                bannerImage = is.readAllBytes();
             }
-            group.setBannerImageType("image/jpeg");  // png면 image/png
+            bannerImageType = "image/jpeg";  // png면 image/png
         } else {
             // 업로드된 파일 저장
-            group.setBannerImage(bannerFile.getBytes());
-            group.setBannerImageType(bannerFile.getContentType());
+            bannerImage = bannerFile.getBytes();
+            bannerImageType = bannerFile.getContentType();
         }
 
         group = groupService.save(group);
+        groupService.changeBanner(group.getId(), bannerImage, bannerImageType);
 
         GroupUser gu = new GroupUser();
         gu.setGroup(group);
         gu.setUser(loginUser);
         gu.setPosition(PositionType.ADMIN);
         groupUserRepository.save(gu);
+        eventPublisher.publishEvent(new GroupMembershipChangedEvent(loginUser.getId()));
 
         ChatRoom chatRoom = chatRoomService.createGroupRoom(group);
         chatRoomService.joinGroupChat(group, loginUser);
@@ -123,16 +136,10 @@ public class GroupController {
     }
 
     @GetMapping("/banner/{id}")
-    public ResponseEntity<byte[]> getBanner(@PathVariable Long id) {
-        Group group = groupService.findById(id);
-
-        if (group.getBannerImage() == null) {
-            return ResponseEntity.notFound().build();
-        }
-
-        HttpHeaders header = new HttpHeaders();
-        header.setContentType(MediaType.parseMediaType(group.getBannerImageType()));
-        return new ResponseEntity<>(group.getBannerImage(), header, HttpStatus.OK);
+    public ResponseEntity<Resource> getBanner(@PathVariable Long id,
+                                              @RequestParam(required = false) Long v,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return imageCache.serve(ImageCache.GROUP + id, () -> groupService.findBannerRef(id), v, ifNoneMatch);
     }
 
     @GetMapping("/view")
@@ -202,14 +209,13 @@ public class GroupController {
             Model model
     ) {
 
-        if (session.getAttribute("user") == null) {
+        SessionUser loginUser = (SessionUser) session.getAttribute("user");
+        if (loginUser == null) {
             return "redirect:/user/login_form";
         }
-
-        User loginUser = (User) session.getAttribute("user");
         int size = 9;
 
-        Page<Group> groupPage =
+        Page<GroupCard> groupPage =
                 groupService.getGroupPage(categoryId, keyword, sort, hideJoined, loginUser.getId(), page, size);
 
         model.addAttribute("groups", groupPage.getContent());
@@ -307,6 +313,7 @@ public class GroupController {
         gu.setUser(user);
         gu.setPosition(PositionType.MEMBER);
         groupUserRepository.save(gu);
+        eventPublisher.publishEvent(new GroupMembershipChangedEvent(user.getId()));
 
         // 4) 현재 인원 증가
         group.setNowCount((int) nowCount + 1);
@@ -360,6 +367,10 @@ public class GroupController {
         List<GroupUser> members = groupUserRepository.findByGroup(group);
         model.addAttribute("members", members);
 
+        // 접속 중인 멤버 (온라인 표시용, 메모리 조회)
+        List<Long> memberIds = members.stream().map(m -> m.getUser().getId()).toList();
+        model.addAttribute("onlineUserIds", presenceRegistry.onlineAmong(memberIds));
+
         // 3) 일정 목록 (오름차순 → 처음 3개만)
         List<Schedule> schedules = scheduleRepository.findByGroupOrderByStartDateAsc(group);
 
@@ -422,11 +433,12 @@ public class GroupController {
                              HttpSession session,
                              RedirectAttributes ra) {
 
-        User loginUser = (User) session.getAttribute("user");
-        if (loginUser == null) {
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
+        if (sessionUser == null) {
             ra.addFlashAttribute("error", "not_login");
             return "redirect:/group/settings/" + groupId;
         }
+        User loginUser = userService.getUserReference(sessionUser.getId());
 
         Group group = groupService.findById(groupId);
         if (group == null) {
@@ -457,6 +469,7 @@ public class GroupController {
         }
 
         groupUserRepository.delete(targetGU);
+        eventPublisher.publishEvent(new GroupMembershipChangedEvent(userId));
 
         group.setNowCount(group.getNowCount() - 1);
         groupService.save(group);
@@ -543,16 +556,15 @@ public class GroupController {
             return "redirect:/group/settings/" + id;
         }
 
-        if (bannerFile != null && !bannerFile.isEmpty()) {
-            group.setBannerImage(bannerFile.getBytes());
-            group.setBannerImageType(bannerFile.getContentType());
-        }
-
         // 정보 수정
         group.setDescription(description);
         group.setMaxCount(maxCount);
         groupService.save(group);
 
+        if (bannerFile != null && !bannerFile.isEmpty()) {
+            groupService.changeBanner(id, bannerFile.getBytes(), bannerFile.getContentType());
+        }
+
         ra.addFlashAttribute("alert", "소모임 정보가 성공적으로 수정되었습니다!");
 
         return "redirect:/group/settings/" + id;
@@ -564,11 +576,12 @@ public class GroupController {
                               HttpSession session,
                               RedirectAttributes ra) {
 
-        User loginUser = (User) session.getAttribute("user");
-        if (loginUser == null) {
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
+        if (sessionUser == null) {
             ra.addFlashAttribute("error", "not_login");
             return "redirect:/group/settings/" + id;
         }
+        User loginUser = userService.getUserReference(sessionUser.getId());
 
         Group group = groupService.findById(id);
 
@@ -603,11 +616,12 @@ public class GroupController {
                              HttpSession session,
                              RedirectAttributes ra) {
 
-        User loginUser = (User) session.getAttribute("user");
-        if (loginUser == null) {
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
+        if (sessionUser == null) {
             ra.addFlashAttribute("alert", "로그인이 필요합니다.");
             return "redirect:/user/login_form";
         }
+        User loginUser = userService.getUserReference(sessionUser.getId());
 
         Group group = groupService.findById(groupId);
         if (group == null) {
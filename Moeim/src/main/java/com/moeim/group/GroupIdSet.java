@@ -0,0 +1,68 @@
+package com.moeim.group;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 모임 id 집합 (정렬된 long 배열 하나, 만든 뒤에는 안 바뀜)
+ * 한 유저가 가입한 모임은 보통 수십 개 이내라 박싱된 Set 대신 배열로 → id 하나당 8바이트, contains 는 이진 탐색
+ */
+public final class GroupIdSet {
+
+    public static final GroupIdSet EMPTY = new GroupIdSet(new long[0]);
+
+    private final long[] ids;
+
+    private GroupIdSet(long[] ids) {
+        this.ids = ids;
+    }
+
+    public static GroupIdSet of(Collection<Long> groupIds) {
+        if (groupIds.isEmpty()) return EMPTY;
+
+        long[] ids = new long[groupIds.size()];
+        int i = 0;
+        for (Long id : groupIds) {
+            ids[i++] = id;
+        }
+        Arrays.sort(ids);
+
+        // 중복 제거
+        int size = 1;
+        for (int j = 1; j < ids.length; j++) {
+            if (ids[j] != ids[size - 1]) ids[size++] = ids[j];
+        }
+        return new GroupIdSet(size == ids.length ? ids : Arrays.copyOf(ids, size));
+    }
+
+    public boolean contains(long groupId) {
+        return Arrays.binarySearch(ids, groupId) >= 0;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    /**
+     * 쿼리 파라미터용 (NOT IN :ids), 복사 없이 배열을 그대로 보여줌
+     */
+    public List<Long> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Long get(int index) {
+                return ids[index];
+            }
+
+            @Override
+            public int size() {
+                return ids.length;
+            }
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.moeim.group;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 유저의 모임 가입/탈퇴/강퇴 → 커밋 후 JoinedGroupCache 에서 그 유저 제거
+ */
+@Getter
+@RequiredArgsConstructor
+public class GroupMembershipChangedEvent {
+    private final Long userId;
+}
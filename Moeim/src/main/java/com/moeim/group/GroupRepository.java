@@ -2,12 +2,15 @@
 
 package com.moeim.group;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import com.moeim.category.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -18,63 +21,90 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
 
     boolean existsByCategoryAndTitle(Category category, String title);
 
-    @Query("""
-    SELECT g FROM Group g
+    // 삭제 표시 (이후 @SQLRestriction 으로 조회에서 빠짐, updatedAt 도 바꿔서 다른 서버 검색 색인에서도 빠지게)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Group g SET g.deletedAt = :now, g.updatedAt = :now WHERE g.id = :groupId")
+    int markDeleted(@Param("groupId") Long groupId, @Param("now") LocalDateTime now);
+
+    // 목록/추천은 GroupCard 로 (banner_image 바이트 없이 카드에 필요한 컬럼만)
+    String CARD = "SELECT new com.moeim.group.GroupCard(g.id, g.title, g.description, c.title, " +
+            "g.nowCount, g.maxCount, g.bannerImageType, g.bannerVersion) FROM Group g JOIN g.category c ";
+
+    @Query(value = CARD, countQuery = "SELECT COUNT(g) FROM Group g")
+    Page<GroupCard> findCards(Pageable pageable);
+
+    @Query(value = CARD + "WHERE c.id = :categoryId",
+            countQuery = "SELECT COUNT(g) FROM Group g WHERE g.category.id = :categoryId")
+    Page<GroupCard> findCardsByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    // 검색 색인 결과 id 로 카드 조회 (순서는 호출하는 쪽에서 맞춤)
+    @Query(CARD + "WHERE g.id IN :ids")
+    List<GroupCard> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = CARD + """
+    WHERE (:categoryId IS NULL OR c.id = :categoryId)
+    AND (:keyword IS NULL OR 
+        LOWER(CAST(g.title AS string)) LIKE LOWER(CAST(CONCAT('%', :keyword, '%') AS string))
+    )
+    AND g.id NOT IN :excludedIds
+    """, countQuery = """
+    SELECT COUNT(g) FROM Group g
     WHERE (:categoryId IS NULL OR g.category.id = :categoryId)
     AND (:keyword IS NULL OR 
         LOWER(CAST(g.title AS string)) LIKE LOWER(CAST(CONCAT('%', :keyword, '%') AS string))
     )
-    AND (:userId IS NULL OR g.id NOT IN (
-        SELECT gu.group.id FROM GroupUser gu WHERE gu.user.id = :userId
-    ))
+    AND g.id NOT IN :excludedIds
     """)
-    Page<Group> searchGroups(
+    Page<GroupCard> searchGroups(
             @Param("categoryId") Long categoryId,
             @Param("keyword") String keyword,
-            @Param("userId") Long userId,
+            @Param("excludedIds") Collection<Long> excludedIds,
             Pageable pageable
     );
 
     //  메인 페이지용: 모집중인 모임 조회 (nowCount < maxCount) (비로그인)
-    @Query("SELECT g FROM Group g " +
+    @Query(CARD +
             "WHERE g.nowCount < g.maxCount " +
             "ORDER BY g.createdAt DESC")
-    List<Group> findRecruitingGroups(Pageable pageable);
+    List<GroupCard> findRecruitingGroups(Pageable pageable);
 
     // (로그인 유저용) 일반 모집글
-    // 관심사가 없거나 추천 모임이 없을 때 보여줄 일반 목록에서도, 내가 가입한 건 빼야 함
-    @Query("SELECT g FROM Group g " +
+    // 관심사가 없거나 추천 모임이 없을 때 보여줄 일반 목록에서도, 내가 가입한 건 빼야 함 (JoinedGroupCache 의 id 목록)
+    @Query(CARD +
             "WHERE g.nowCount < g.maxCount " +
-            "AND g.id NOT IN (SELECT gu.group.id FROM GroupUser gu WHERE gu.user.id = :userId) " +
+            "AND g.id NOT IN :excludedIds " +
             "ORDER BY g.createdAt DESC")
-    List<Group> findRecruitingGroupsExcludeUser(@Param("userId") Long userId, Pageable pageable);
+    List<GroupCard> findRecruitingGroupsExcluding(@Param("excludedIds") Collection<Long> excludedIds, Pageable pageable);
 
     // (로그인 유저용) 내 관심사 카테고리에 해당하는 모집 중인 모임 찾기
-    @Query("SELECT g FROM Group g " +
-            "WHERE g.category.id IN :categoryIds " +
+    @Query(CARD +
+            "WHERE c.id IN :categoryIds " +
             "AND g.nowCount < g.maxCount " +
-            "AND g.id NOT IN (SELECT gu.group.id FROM GroupUser gu WHERE gu.user.id = :userId) " +
+            "AND g.id NOT IN :excludedIds " +
             "ORDER BY g.createdAt DESC")
-    List<Group> findRecommendedGroups(@Param("categoryIds") List<Long> categoryIds, @Param("userId") Long userId, Pageable pageable);
+    List<GroupCard> findRecommendedGroups(@Param("categoryIds") List<Long> categoryIds, @Param("excludedIds") Collection<Long> excludedIds, Pageable pageable);
 
     //  메인 페이지용: 모집 중인 모임 개수
     @Query("SELECT COUNT(g) FROM Group g WHERE g.nowCount < g.maxCount")
     long countRecruitingGroups();
 
-    @Query("""
-    SELECT g FROM Group g
-    WHERE (:categoryId IS NULL OR g.category.id = :categoryId)
+    @Query(value = CARD + """
+    WHERE (:categoryId IS NULL OR c.id = :categoryId)
     AND (:keyword IS NULL OR LOWER(g.title) LIKE LOWER(CONCAT('%', :keyword, '%')))
     AND (g.maxCount - g.nowCount) > 0
-    AND (:userId IS NULL OR g.id NOT IN (
-        SELECT gu.group.id FROM GroupUser gu WHERE gu.user.id = :userId
-    ))
+    AND g.id NOT IN :excludedIds
     ORDER BY (g.maxCount - g.nowCount) ASC, g.id DESC
+    """, countQuery = """
+    SELECT COUNT(g) FROM Group g
+    WHERE (:categoryId IS NULL OR g.category.id = :categoryId)
+    AND (:keyword IS NULL OR LOWER(g.title) LIKE LOWER(CONCAT('%', :keyword, '%')))
+    AND (g.maxCount - g.nowCount) > 0
+    AND g.id NOT IN :excludedIds
     """)
-    Page<Group> searchGroupsDeadline(
+    Page<GroupCard> searchGroupsDeadline(
             @Param("categoryId") Long categoryId,
             @Param("keyword") String keyword,
-            @Param("userId") Long userId,
+            @Param("excludedIds") Collection<Long> excludedIds,
             Pageable pageable
     );
 
@@ -0,0 +1,400 @@
+package com.moeim.group;
+
+import com.moeim.global.BigramTokenizer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 모임 검색 색인 (메모리, 제목 + 설명)
+ * - LIKE '%검색어%' 는 인덱스를 못 타서 모임 수만큼 느려지므로, bigram → 모임 id 목록(정렬된 배열)으로 찾음
+ * - 검색어의 bigram 이 모두 들어간 모임만 (목록끼리 교집합, 카테고리도 모임 id 목록 하나로 같이 교집합)
+ * - 순위는 BM25 (제목에서 나온 bigram 은 TITLE_WEIGHT 번 나온 것으로 셈)
+ * - 갱신: 이 서버 변경은 커밋 직후 GroupChangedEvent 로 그 모임만, 다른 서버 변경은 updated_at 으로 주기적으로
+ * - 시작할 때 전체를 다시 만듦 (끝나기 전이나 한 글자 검색어는 null → 기존 LIKE 쿼리로)
+ */
+@Slf4j
+@Component
+public class GroupSearchIndex {
+
+    private static final String SELECT_SQL =
+            "SELECT group_id, category_id, title, description, now_count, max_count, deleted_at FROM groups ";
+
+    // BM25 파라미터 (보통 쓰는 값)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+
+    // 다른 서버 변경을 읽을 때 앞 구간과 겹쳐 읽는 시간 (updated_at 보다 커밋이 늦게 보이는 경우, 다시 넣어도 같음)
+    private static final long SYNC_OVERLAP_SECONDS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 아래 색인은 lock 으로 보호 (읽기는 동시에, 갱신은 한 모임씩 잠깐)
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, PostingList> categories = new HashMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private long totalLength;
+
+    private volatile boolean ready;
+    private volatile LocalDateTime syncedAt;
+
+    public GroupSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Result {
+        private final List<Long> groupIds; // 이 페이지 모임 id (순서대로)
+        private final int total;           // 전체 검색 결과 수
+    }
+
+    // ───────────────── 검색 ─────────────────
+
+    /**
+     * 검색어로 모임 찾기 → 이 페이지 id + 전체 수 (색인으로 못 찾는 경우 null)
+     * sortKey: latest(최신), deadline(마감 임박, 자리 남은 모임만), 그 외는 관련도순
+     */
+    public Result search(String keyword, Long categoryId, GroupIdSet excludedIds, String sortKey, int page, int size) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : BigramTokenizer.words(keyword)) {
+            BigramTokenizer.addBigrams(word, tokens);
+        }
+        if (!ready || tokens.isEmpty()) {
+            return null;
+        }
+
+        boolean deadline = "deadline".equals(sortKey);
+        List<Hit> hits = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> tokenLists = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                PostingList list = postings.get(token);
+                if (list == null) return new Result(List.of(), 0);
+                tokenLists.add(list);
+            }
+
+            List<PostingList> filters = new ArrayList<>(tokenLists);
+            if (categoryId != null) {
+                PostingList category = categories.get(categoryId);
+                if (category == null) return new Result(List.of(), 0);
+                filters.add(category);
+            }
+
+            int docCount = docs.size();
+            double avgLength = docCount == 0 ? 1 : (double) totalLength / docCount;
+            double[] idf = new double[tokenLists.size()];
+            for (int t = 0; t < idf.length; t++) {
+                int df = tokenLists.get(t).size;
+                idf[t] = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+            }
+
+            for (long id : intersect(filters)) {
+                if (excludedIds.contains(id)) continue;
+                Doc doc = docs.get(id);
+                if (deadline && doc.maxCount - doc.nowCount <= 0) continue;
+
+                double norm = K1 * (1 - B + B * doc.length / avgLength);
+                double score = 0;
+                for (int t = 0; t < idf.length; t++) {
+                    int tf = tokenLists.get(t).tf(id);
+                    score += idf[t] * tf * (K1 + 1) / (tf + norm);
+                }
+                hits.add(new Hit(id, score, doc.nowCount, doc.maxCount - doc.nowCount));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(comparator(sortKey));
+
+        int from = Math.min(page * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (Hit hit : hits.subList(from, to)) {
+            pageIds.add(hit.id);
+        }
+        return new Result(pageIds, hits.size());
+    }
+
+    private static Comparator<Hit> comparator(String sortKey) {
+        Comparator<Hit> newest = Comparator.comparingLong((Hit h) -> h.id).reversed();
+        return switch (sortKey) {
+            case "latest" -> newest;
+            case "deadline" -> Comparator.comparingLong((Hit h) -> h.remaining).thenComparing(newest);
+            default -> Comparator.comparingDouble((Hit h) -> h.score).reversed()
+                    .thenComparing(Comparator.comparingLong((Hit h) -> h.nowCount).reversed())
+                    .thenComparing(newest);
+        };
+    }
+
+    // 정렬된 id 목록들의 교집합 (짧은 목록부터, 긴 목록에서는 이진 탐색으로 건너뜀)
+    private static long[] intersect(List<PostingList> lists) {
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        PostingList shortest = lists.get(0);
+        long[] result = Arrays.copyOf(shortest.ids, shortest.size);
+        int count = result.length;
+
+        for (int l = 1; l < lists.size() && count > 0; l++) {
+            PostingList other = lists.get(l);
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count; i++) {
+                int pos = Arrays.binarySearch(other.ids, from, other.size, result[i]);
+                if (pos >= 0) {
+                    result[kept++] = result[i];
+                    from = pos + 1;
+                } else {
+                    from = -pos - 1;
+                }
+            }
+            count = kept;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // ───────────────── 갱신 ─────────────────
+
+    /**
+     * 시작할 때 전체 색인 (요청 처리와 별도 스레드, 끝나기 전 검색은 LIKE 쿼리로)
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        jdbcTemplate.query(SELECT_SQL + "WHERE deleted_at IS NULL", (RowCallbackHandler) rs -> apply(toRow(rs)));
+        syncedAt = startedAt;
+        ready = true;
+        log.info("모임 검색 색인 완료: {}개", docCount());
+    }
+
+    // 이 서버에서 바뀐 모임은 커밋 직후 바로
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGroupChanged(GroupChangedEvent event) {
+        if (!ready) return; // 색인 중이면 끝난 뒤 syncChanged 가 가져감
+
+        List<Row> rows = jdbcTemplate.query(SELECT_SQL + "WHERE group_id = ?", (rs, rowNum) -> toRow(rs), event.getGroupId());
+        if (rows.isEmpty()) {
+            remove(event.getGroupId());
+        } else {
+            apply(rows.get(0));
+        }
+    }
+
+    // 다른 서버에서 바뀐 모임 (삭제 표시도 updated_at 을 바꿈)
+    @Scheduled(fixedDelayString = "${group.search.sync-interval-ms:10000}")
+    public void syncChanged() {
+        if (!ready) return;
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        jdbcTemplate.query(SELECT_SQL + "WHERE updated_at >= ?", (RowCallbackHandler) rs -> apply(toRow(rs)),
+                Timestamp.valueOf(syncedAt.minusSeconds(SYNC_OVERLAP_SECONDS)));
+        syncedAt = startedAt;
+    }
+
+    private void apply(Row row) {
+        if (row.deleted) {
+            remove(row.id);
+            return;
+        }
+
+        Map<String, Integer> tf = new HashMap<>();
+        countBigrams(row.title, TITLE_WEIGHT, tf);
+        countBigrams(row.description, 1, tf);
+        int length = 0;
+        for (int count : tf.values()) {
+            length += count;
+        }
+        Doc doc = new Doc(row.categoryId, row.nowCount, row.maxCount, length, tf);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(row.id);
+            for (Map.Entry<String, Integer> e : tf.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), k -> new PostingList()).put(row.id, e.getValue());
+            }
+            categories.computeIfAbsent(row.categoryId, k -> new PostingList()).put(row.id, 1);
+            docs.put(row.id, doc);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(long groupId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(groupId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long groupId) {
+        Doc old = docs.remove(groupId);
+        if (old == null) return;
+
+        for (String token : old.tf.keySet()) {
+            PostingList list = postings.get(token);
+            if (list != null && list.remove(groupId) && list.size == 0) {
+                postings.remove(token);
+            }
+        }
+        PostingList category = categories.get(old.categoryId);
+        if (category != null) {
+            category.remove(groupId);
+        }
+        totalLength -= old.length;
+    }
+
+    private static void countBigrams(String text, int weight, Map<String, Integer> tf) {
+        if (text == null) return;
+        List<String> tokens = new ArrayList<>();
+        for (String word : BigramTokenizer.words(text)) {
+            BigramTokenizer.addBigrams(word, tokens);
+        }
+        for (String token : tokens) {
+            tf.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private int docCount() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Row toRow(ResultSet rs) throws SQLException {
+        return new Row(
+                rs.getLong("group_id"),
+                rs.getLong("category_id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                rs.getLong("now_count"),
+                rs.getLong("max_count"),
+                rs.getTimestamp("deleted_at") != null
+        );
+    }
+
+    // ───────────────── 내부 구조 ─────────────────
+
+    // 토큰 하나(또는 카테고리 하나)가 들어간 모임 id (오름차순) + 나온 횟수
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int[] tfs = new int[4];
+        private int size;
+
+        // 새 모임은 id 가 가장 크므로 대부분 맨 뒤에 붙음
+        void put(long id, int tf) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                tfs[pos] = tf;
+                return;
+            }
+            pos = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            System.arraycopy(tfs, pos, tfs, pos + 1, size - pos);
+            ids[pos] = id;
+            tfs[pos] = tf;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) return false;
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            System.arraycopy(tfs, pos + 1, tfs, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        int tf(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            return pos >= 0 ? tfs[pos] : 0;
+        }
+    }
+
+    private static final class Doc {
+        private final long categoryId;
+        private final long nowCount;
+        private final long maxCount;
+        private final int length;
+        private final Map<String, Integer> tf;
+
+        private Doc(long categoryId, long nowCount, long maxCount, int length, Map<String, Integer> tf) {
+            this.categoryId = categoryId;
+            this.nowCount = nowCount;
+            this.maxCount = maxCount;
+            this.length = length;
+            this.tf = tf;
+        }
+    }
+
+    private static final class Row {
+        private final long id;
+        private final long categoryId;
+        private final String title;
+        private final String description;
+        private final long nowCount;
+        private final long maxCount;
+        private final boolean deleted;
+
+        private Row(long id, long categoryId, String title, String description,
+                    long nowCount, long maxCount, boolean deleted) {
+            this.id = id;
+            this.categoryId = categoryId;
+            this.title = title;
+            this.description = description;
+            this.nowCount = nowCount;
+            this.maxCount = maxCount;
+            this.deleted = deleted;
+        }
+    }
+
+    private static final class Hit {
+        private final long id;
+        private final double score;
+        private final long nowCount;
+        private final long remaining;
+
+        private Hit(long id, double score, long nowCount, long remaining) {
+            this.id = id;
+            this.score = score;
+            this.nowCount = nowCount;
+            this.remaining = remaining;
+        }
+    }
+}
@@ -3,21 +3,31 @@
 package com.moeim.group;
 
 import com.moeim.category.CategoryRepository;
-import com.moeim.chat.ChatRoom;
 import com.moeim.chat.ChatRoomRepository;
 import com.moeim.chat.ChatRoomService;
+import com.moeim.global.BlobStore;
+import com.moeim.global.DeletionJob;
+import com.moeim.global.DeletionJobRunner;
+import com.moeim.global.ImageRef;
 import com.moeim.review.userreview.UserReviewRepository;
 import com.moeim.schedule.ScheduleRepository;
 import com.moeim.user.User;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 @Service
@@ -25,17 +35,25 @@ import java.util.Set;
 public class GroupService {
 
     private final GroupRepository groupRepository;
+    private final GroupBannerRepository groupBannerRepository;
+    private final BlobStore blobStore;
     private final GroupUserRepository groupUserRepository;
     private final ScheduleRepository scheduleRepository;
     private final ChatRoomRepository chatRoomRepository;
     private final ChatRoomService chatRoomService;
     private final CategoryRepository categoryRepository;
     private final UserReviewRepository userReviewRepository;
+    private final DeletionJobRunner deletionJobRunner;
+    private final GroupSearchIndex groupSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JoinedGroupCache joinedGroupCache;
+
+    private static final List<Long> NO_GROUP_IDS = List.of(0L);
 
     // 카테고리로 그룹 조회 (페이징)
-    public Page<Group> getGroupsByCategoryId(Long categoryId, int page) {
+    public Page<GroupCard> getGroupsByCategoryId(Long categoryId, int page) {
         Pageable pageable = PageRequest.of(page, 3, Sort.by("createdAt").descending());
-        return groupRepository.findByCategory_Id(categoryId, pageable);
+        return groupRepository.findCardsByCategoryId(categoryId, pageable);
     }
 
     //  list 페이지용
@@ -44,10 +62,10 @@ public class GroupService {
     }
 
     // 전체 소모임 갖고오기 (페이징)
-    public Page<Group> getAllGroups(int page) {
+    public Page<GroupCard> getAllGroups(int page) {
         // 소모임은 보통 최신순 혹은 인기순
         Pageable pageable = PageRequest.of(page, 3, Sort.by("createdAt").descending());
-        return groupRepository.findAll(pageable);
+        return groupRepository.findCards(pageable);
     }
 
     // view 페이지에서 사용할 필수 함수
@@ -58,7 +76,24 @@ public class GroupService {
 
     @Transactional
     public Group save(Group group) {
-        return groupRepository.save(group);
+        Group saved = groupRepository.save(group);
+        eventPublisher.publishEvent(new GroupChangedEvent(saved.getId()));
+        return saved;
+    }
+
+    // 배너 교체 (바이트는 BlobStore 파일로, GroupBanner 에는 키/타입만 갱신, 버전 +1)
+    @Transactional
+    public void changeBanner(Long groupId, byte[] image, String imageType) {
+        String imageKey = blobStore.put(image);
+        if (groupBannerRepository.updateBanner(groupId, imageKey, imageType) == 0) {
+            throw new IllegalArgumentException("그룹을 찾을 수 없습니다.");
+        }
+        eventPublisher.publishEvent(new GroupChangedEvent(groupId)); // ImageCache 의 배너 참조 제거
+    }
+
+    // 배너 이미지 참조 (삭제된 모임이면 empty, 배너가 없으면 키가 null)
+    public Optional<ImageRef> findBannerRef(Long groupId) {
+        return groupBannerRepository.findImageRef(groupId);
     }
 
     //  선택적으로 추가 가능 - 신청 가능 여부 판단
@@ -68,7 +103,7 @@ public class GroupService {
     }
 
     @Transactional
-    public Page<Group> getGroupPage(Long categoryId,
+    public Page<GroupCard> getGroupPage(Long categoryId,
                                     String keyword,
                                     String sortKey,
                                     boolean hideJoined,
@@ -76,6 +111,18 @@ public class GroupService {
                                     int page,
                                     int size) {
 
+        GroupIdSet joined = hideJoined ? joinedGroupCache.get(userId) : GroupIdSet.EMPTY;
+
+        // 검색어가 있으면 검색 색인으로 (색인 준비 전이거나 한 글자 검색어면 아래 LIKE 쿼리로)
+        if (keyword != null && !keyword.isBlank()) {
+            GroupSearchIndex.Result result = groupSearchIndex.search(keyword.trim(),
+                    (categoryId == null || categoryId == 0) ? null : categoryId,
+                    joined, sortKey, page, size);
+            if (result != null) {
+                return toPage(result, page, size);
+            }
+        }
+
         Pageable pageable;
 
         //  정렬 처리
@@ -91,7 +138,7 @@ public class GroupService {
                 return groupRepository.searchGroupsDeadline(
                         (categoryId == null || categoryId == 0) ? null : categoryId,
                         (keyword == null || keyword.trim().isEmpty()) ? null : keyword.trim(),
-                        hideJoined ? userId : null,
+                        excludedIds(joined),
                         pageable
                 );
 
@@ -106,22 +153,44 @@ public class GroupService {
         return groupRepository.searchGroups(
                 (categoryId == null || categoryId == 0) ? null : categoryId,
                 (keyword == null || keyword.trim().isEmpty()) ? null : keyword.trim(),
-                hideJoined ? userId : null,
+                excludedIds(joined),
                 pageable
         );
     }
 
+    // NOT IN :excludedIds 파라미터 (빈 목록은 DB 마다 처리가 달라서, 없는 id 0 하나로)
+    private static List<Long> excludedIds(GroupIdSet groupIds) {
+        return groupIds.isEmpty() ? NO_GROUP_IDS : groupIds.asList();
+    }
+
+    // 검색 결과 id 순서대로 모임 조회 (그 사이 삭제된 모임은 빠짐)
+    private Page<GroupCard> toPage(GroupSearchIndex.Result result, int page, int size) {
+        Map<Long, GroupCard> byId = new HashMap<>();
+        for (GroupCard card : groupRepository.findCardsByIdIn(result.getGroupIds())) {
+            byId.put(card.getId(), card);
+        }
+        List<GroupCard> cards = new ArrayList<>(result.getGroupIds().size());
+        for (Long id : result.getGroupIds()) {
+            GroupCard card = byId.get(id);
+            if (card != null) cards.add(card);
+        }
+        return new PageImpl<>(cards, PageRequest.of(page, size), result.getTotal());
+    }
+
+    // 모임 삭제: 삭제 표시 + 멤버 제거까지만 여기서 (목록/내 모임에서 바로 빠짐)
+    // 일정/리뷰/가입신청은 cascade 로 전부 읽어 지우지 않고 DeletionJobRunner 가 나눠서 지움
     @Transactional
     public void deleteGroup(Long groupId) {
-        Group group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new IllegalArgumentException("그룹을 찾을 수 없습니다."));
-        userReviewRepository.setGroupNullByGroupId(group.getId()); // 유저리뷰의 그룹란 널로 처리
-        ChatRoom chatRoom = group.getChatRoom();
-        if (chatRoom != null) {
-            group.setChatRoom(null);
-            chatRoomService.deleteChatRoom(chatRoom.getId());
+        chatRoomRepository.findByGroup_Id(groupId)
+                .ifPresent(chatRoom -> chatRoomService.deleteChatRoom(chatRoom.getId()));
+        userReviewRepository.setGroupNullByGroupId(groupId); // 유저리뷰의 그룹란 널로 처리
+
+        if (groupRepository.markDeleted(groupId, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("그룹을 찾을 수 없습니다.");
         }
-        groupRepository.delete(group);
+        groupUserRepository.bulkDeleteByGroupId(groupId);
+        deletionJobRunner.enqueue(DeletionJob.TargetType.GROUP, groupId);
+        eventPublisher.publishEvent(new GroupChangedEvent(groupId));
     }
 
     @Transactional
@@ -133,6 +202,7 @@ public class GroupService {
         if (group.getNowCount() < group.getMaxCount()) {
             group.setNowCount(group.getNowCount() + 1);
             groupRepository.save(group);
+            eventPublisher.publishEvent(new GroupChangedEvent(groupId));
         }
     }
 
@@ -159,29 +229,31 @@ public class GroupService {
                 .orElseThrow(() -> new IllegalArgumentException("이 그룹의 멤버가 아닙니다."));
 
         groupUserRepository.delete(gu);
+        eventPublisher.publishEvent(new GroupMembershipChangedEvent(user.getId()));
 
         // 인원수 감소 (0 이하로 내려가지 않게 방어)
         long now = group.getNowCount() - 1;
         group.setNowCount(Math.max(now, 0));
+        eventPublisher.publishEvent(new GroupChangedEvent(groupId));
 
         // 2) 그룹 채팅방에서도 나가기
         chatRoomService.leaveGroupChatRoom(group, user);
     }
 
     // 메인 페이지용: 모집 중인 모임 일부만 가져오기 (비로그인)
-    public List<Group> getRecruitingGroups(int limit) {
+    public List<GroupCard> getRecruitingGroups(int limit) {
         Pageable pageable = PageRequest.of(0, limit);
         return groupRepository.findRecruitingGroups(pageable);
     }
 
     // (로그인용) 가입한 모임 제외하고 가져오기
-    public List<Group> getRecruitingGroupsExcludeUser(Long userId, int limit) {
+    public List<GroupCard> getRecruitingGroupsExcludeUser(Long userId, int limit) {
         Pageable pageable = PageRequest.of(0, limit);
-        return groupRepository.findRecruitingGroupsExcludeUser(userId, pageable);
+        return groupRepository.findRecruitingGroupsExcluding(excludedIds(joinedGroupCache.get(userId)), pageable);
     }
 
     // (로그인용) 관심사 기반 추천 모임 가져오기
-    public List<Group> getRecommendedGroups(Long userId, Set<Integer> interestIds, int limit) {
+    public List<GroupCard> getRecommendedGroups(Long userId, Set<Integer> interestIds, int limit) {
 
         // 관심사가 없으면 일반 최신글 반환
         if (interestIds == null || interestIds.isEmpty()) {
@@ -195,7 +267,8 @@ public class GroupService {
 
         // 관심사 + 가입제외 조회
         Pageable pageable = PageRequest.of(0, limit);
-        List<Group> groups = groupRepository.findRecommendedGroups(categoryIds, userId, pageable);
+        List<GroupCard> groups = groupRepository.findRecommendedGroups(categoryIds,
+                excludedIds(joinedGroupCache.get(userId)), pageable);
 
         // 결과가 없으면 일반 최신글 반환
         if (groups.isEmpty()) {
@@ -5,6 +5,7 @@ import com.moeim.user.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -42,12 +43,21 @@ public interface GroupUserRepository extends JpaRepository<GroupUser, Long> {
 
     void deleteByGroup(Group group);
 
+    // 모임 삭제 시 멤버 한 번에 제거 (멤버 수는 정원 이내)
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM GroupUser gu WHERE gu.group.id = :groupId")
+    void bulkDeleteByGroupId(@Param("groupId") Long groupId);
+
     Optional<GroupUser> findByGroupAndUserAndPosition(Group group, User user, PositionType position);
 
     // 한 개 이상의 모임에 참가한 사람의 수
     @Query("SELECT COUNT(DISTINCT gu.user.id) FROM GroupUser gu")
     long countDistinctUsers();
 
+    // 내가 가입한 모임 id (JoinedGroupCache 가 읽음)
+    @Query("SELECT gu.group.id FROM GroupUser gu WHERE gu.user.id = :userId")
+    List<Long> findGroupIdsByUserId(@Param("userId") Long userId);
+
     @Query("SELECT gu FROM GroupUser gu JOIN FETCH gu.group WHERE gu.user.id = :userId")
     Page<GroupUser> findAllByUserId(@Param("userId") Long userId, Pageable pageable);
 }
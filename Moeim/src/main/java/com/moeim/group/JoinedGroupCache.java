@@ -0,0 +1,45 @@
+package com.moeim.group;
+
+import com.moeim.global.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 유저별 가입한 모임 id 캐시 (목록/메인 쿼리마다 NOT IN (SELECT ... group_users) 서브쿼리를 돌리던 것 대신)
+ * - ttl 동안 최대 max-size 명까지 보관 (최근 사용 순으로 밀어냄)
+ * - 가입 승인/탈퇴/강퇴/모임 생성 시 커밋 후 그 유저만 제거 (GroupMembershipChangedEvent)
+ * - 모임 삭제는 제거하지 않음 (삭제된 모임 id 가 남아 있어도 그 모임은 어차피 조회되지 않음)
+ * 서버가 여러 대면 다른 서버 캐시는 ttl 이 지나야 바뀜
+ */
+@Component
+public class JoinedGroupCache {
+
+    private final GroupUserRepository groupUserRepository;
+
+    // userId -> 가입한 모임
+    private final TtlCache<Long, GroupIdSet> entries;
+
+    public JoinedGroupCache(
+            GroupUserRepository groupUserRepository,
+            @Value("${group.joined-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${group.joined-cache.max-size:10000}") int maxSize
+    ) {
+        this.groupUserRepository = groupUserRepository;
+        this.entries = new TtlCache<>(ttlSeconds, maxSize);
+    }
+
+    public GroupIdSet get(Long userId) {
+        return entries.get(userId, id -> GroupIdSet.of(groupUserRepository.findGroupIdsByUserId(id)));
+    }
+
+    public void evict(Long userId) {
+        entries.evict(userId);
+    }
+
+    // 커밋 전에 지우면 그 사이 다른 요청이 옛 값을 다시 넣을 수 있으므로 커밋 후에
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(GroupMembershipChangedEvent event) {
+        evict(event.getUserId());
+    }
+}
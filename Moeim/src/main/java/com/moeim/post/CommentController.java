@@ -1,7 +1,10 @@
 package com.moeim.post;
 
+import com.moeim.global.WriteRateLimits;
+import com.moeim.user.SessionUser;
 import com.moeim.user.User;
 import com.moeim.user.UserService;
+import com.moeim.user.UserSnapshot;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
@@ -28,6 +31,7 @@ public class CommentController {
     private final CommentService commentService;
     private final PostService postService;
     private final UserService userService;
+    private final WriteRateLimits writeRateLimits;
 
     @PostMapping("/{postId}/create")
     public String create(Model model,
@@ -35,7 +39,7 @@ public class CommentController {
                          @Valid CommentForm commentForm, BindingResult bindingResult,
                          HttpSession session, HttpServletResponse response) throws IOException {
         // 로그인 체크
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
@@ -59,8 +63,11 @@ public class CommentController {
             return null;
         }
 
+        // 연속 작성 제한 (넘으면 429)
+        writeRateLimits.checkPostWrite(sessionUser.getId());
+
         // 최신 유저 정보 갖고오기
-        User user = userService.getUserById(sessionUser.getId());
+        User user = userService.getUserReference(sessionUser.getId());
 
         // 저장
         commentService.create(post, user, commentForm.getText());
@@ -77,7 +84,7 @@ public class CommentController {
                 .orElseThrow(() -> new IllegalArgumentException("댓글이 존재하지 않습니다"));
 
         // 로그인 체크
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
@@ -89,7 +96,7 @@ public class CommentController {
         }
 
         // 최신 유저 정보 갖고와서 체크
-        User user = userService.getUserById(sessionUser.getId());
+        UserSnapshot user = userService.getSnapshot(sessionUser.getId());
 
         // 삭제
         commentService.delete(comment);
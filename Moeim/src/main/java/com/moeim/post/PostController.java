@@ -2,9 +2,12 @@ package com.moeim.post;
 
 import com.moeim.category.Category;
 import com.moeim.category.CategoryService;
+import com.moeim.global.WriteRateLimits;
 import com.moeim.global.enums.VoteType;
+import com.moeim.user.SessionUser;
 import com.moeim.user.User;
 import com.moeim.user.UserService;
+import com.moeim.user.UserSnapshot;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
@@ -31,6 +34,7 @@ public class PostController {
     private final PostVoteService postVoteService;
     private final CommentService commentService;
     private final UserService userService;
+    private final WriteRateLimits writeRateLimits;
 
     // 바인딩 에러 처리용 메소드
     private String handleBindingErrors(BindingResult bindingResult, HttpServletResponse response) throws IOException {
@@ -94,13 +98,13 @@ public class PostController {
         }
 
         // 로그인 체크
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
 
         // 최신 유저 정보 갖고와서 체크
-        User user = userService.getUserById(sessionUser.getId());
+        UserSnapshot user = userService.getSnapshot(sessionUser.getId());
 
         Category category = categoryService.getCategoryById(categoryId)
                 .orElseThrow(() -> new IllegalArgumentException("카테고리가 존재하지 않습니다."));
@@ -121,7 +125,7 @@ public class PostController {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "잘못된 접근입니다.");
         }
 
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
@@ -131,8 +135,11 @@ public class PostController {
             return handleBindingErrors(bindingResult, response);
         }
 
+        // 연속 작성 제한 (넘으면 429)
+        writeRateLimits.checkPostWrite(sessionUser.getId());
+
         // 최신 유저 정보 갖고오기
-        User user = userService.getUserById(sessionUser.getId());
+        User user = userService.getUserReference(sessionUser.getId());
 
         Category category = categoryService.getCategoryById(categoryId).orElseThrow();
         
@@ -156,7 +163,7 @@ public class PostController {
                 .orElseThrow(() -> new IllegalArgumentException("게시글이 존재하지 않습니다"));
 
         // 로그인 체크
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
@@ -168,7 +175,7 @@ public class PostController {
         }
 
         // 최신 유저 정보 갖고와서 체크
-        User user = userService.getUserById(sessionUser.getId());
+        UserSnapshot user = userService.getSnapshot(sessionUser.getId());
 
         // 삭제
         postService.delete(post);
@@ -188,7 +195,7 @@ public class PostController {
                 .orElseThrow(() -> new IllegalArgumentException("게시글이 존재하지 않습니다"));
 
         // 로그인 체크
-        User user = (User) session.getAttribute("user");
+        SessionUser user = (SessionUser) session.getAttribute("user");
         if (user == null) {
             return "redirect:/user/login_form";
         }
@@ -226,7 +233,7 @@ public class PostController {
         }
 
         // 로그인 체크
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
@@ -238,7 +245,7 @@ public class PostController {
         }
 
         // 최신 유저 정보 갖고와서 체크
-        User user = userService.getUserById(sessionUser.getId());
+        UserSnapshot user = userService.getSnapshot(sessionUser.getId());
 
         // 수정
         postService.modify(post, postForm.getTitle(), postForm.getText());
@@ -1,6 +1,7 @@
 package com.moeim.post;
 
 import com.moeim.global.enums.VoteType;
+import com.moeim.user.SessionUser;
 import com.moeim.user.User;
 import com.moeim.user.UserService;
 import jakarta.servlet.http.HttpServletResponse;
@@ -35,13 +36,13 @@ public class PostVoteController {
                 .orElseThrow(() -> new IllegalArgumentException("포스트 존재하지 않음"));
         String refererUrl = "/post/" + post.getCategory().getId() + "/" + postId;
 
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
 
         // 최신 유저 정보 갖고오기
-        User user = userService.getUserById(sessionUser.getId());
+        User user = userService.getUserReference(sessionUser.getId());
 
         try {
             postVoteService.create(post, user, voteType);
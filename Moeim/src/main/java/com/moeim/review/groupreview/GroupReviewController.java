@@ -4,6 +4,7 @@ package com.moeim.review.groupreview;
 import com.moeim.group.Group;
 import com.moeim.group.GroupService;
 import com.moeim.group.GroupUserService;
+import com.moeim.user.SessionUser;
 import com.moeim.user.User;
 import com.moeim.user.UserService;
 import jakarta.servlet.http.HttpServletResponse;
@@ -44,13 +45,13 @@ public class GroupReviewController {
             HttpServletResponse response) {
 
         // 로그인 체크
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
 
         // 최신 유저 정보 갖고와서 체크
-        User user = userService.getUserById(sessionUser.getId());
+        User user = userService.getUserReference(sessionUser.getId());
 
         // 평가 대상 그룹 조회
         Group group = groupService.findById(groupId);
@@ -81,13 +82,13 @@ public class GroupReviewController {
             HttpServletResponse response) throws IOException {
 
         // 로그인 체크
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
 
         // 최신 유저 정보 갖고와서 체크
-        User user = userService.getUserById(sessionUser.getId());
+        User user = userService.getUserReference(sessionUser.getId());
 
         // 평가 대상 그룹 조회
         Group group = groupService.findById(groupId);
@@ -3,6 +3,7 @@ package com.moeim.review.userreview;
 import com.moeim.group.Group;
 import com.moeim.group.GroupService;
 import com.moeim.group.GroupUserService;
+import com.moeim.user.SessionUser;
 import com.moeim.user.User;
 import com.moeim.user.UserService;
 import jakarta.servlet.http.HttpServletResponse;
@@ -43,13 +44,13 @@ public class UserReviewController {
             HttpServletResponse response) {
 
         // 로그인 체크
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
 
         // 최신 유저 정보 갖고와서 체크
-        User user = userService.getUserById(sessionUser.getId());
+        User user = userService.getUserReference(sessionUser.getId());
 
         // 타겟 유저 정보 갖고와서 체크
         User targetUser = userService.getUserById(targetUserId);
@@ -87,13 +88,13 @@ public class UserReviewController {
             HttpServletResponse response) throws IOException {
 
         // 로그인 체크
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
 
         // 최신 유저 정보 갖고와서 체크
-        User user = userService.getUserById(sessionUser.getId());
+        User user = userService.getUserReference(sessionUser.getId());
 
         // 타겟 유저 정보 갖고와서 체크
         User targetUser = userService.getUserById(targetUserId);
@@ -148,7 +149,7 @@ public class UserReviewController {
     @GetMapping("/{userId}/list")
     public String listUserReviews(Model model, @PathVariable Long userId,
                                   @RequestParam(value="page", defaultValue="0") int page, HttpSession session ) {
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if(sessionUser == null) {
             return "redirect:/user/login_form";
         }
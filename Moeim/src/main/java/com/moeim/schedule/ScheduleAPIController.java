@@ -3,6 +3,7 @@ package com.moeim.schedule;
 import com.moeim.group.Group;
 import com.moeim.group.GroupService;
 import com.moeim.schedule.dto.ScheduleDTO;
+import com.moeim.user.SessionUser;
 import com.moeim.user.User;
 import com.moeim.user.UserService;
 import jakarta.servlet.http.HttpSession;
@@ -23,7 +24,8 @@ public class ScheduleAPIController {
     // 그룹별 일정 (URL: /api/schedule?groupId=1)
     @GetMapping
     public List<ScheduleDTO> getGroupSchedules(@RequestParam Long groupId, HttpSession session) {
-        User user = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
+        User user = (sessionUser != null) ? userService.getUserReference(sessionUser.getId()) : null;
         Group group = groupService.findById(groupId);
         return scheduleService.getSchedulesByGroup(group, user);
     }
@@ -31,9 +33,9 @@ public class ScheduleAPIController {
     // 내 일정 (URL: /api/schedule/mine)
     @GetMapping("/mine")
     public List<ScheduleDTO> getMySchedules(HttpSession session) {
-        User user = (User) session.getAttribute("user");
-        if (user == null) return List.of();
-        return scheduleService.getMySchedules(user);
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
+        if (sessionUser == null) return List.of();
+        return scheduleService.getMySchedules(userService.getUserReference(sessionUser.getId()));
     }
 
     //  특정 유저 일정 (URL: /api/schedule/user/{userId})
@@ -41,7 +43,7 @@ public class ScheduleAPIController {
     public List<ScheduleDTO> getUserSchedules(@PathVariable Long userId,
                                               HttpSession session) {
 
-        User viewer = (User) session.getAttribute("user");
+        SessionUser viewer = (SessionUser) session.getAttribute("user");
         if (viewer == null) {
             // 로그인 안 된 상태에서 남 일정은 못 봄
             return List.of();
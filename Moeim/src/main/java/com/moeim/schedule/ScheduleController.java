@@ -3,8 +3,10 @@ package com.moeim.schedule;
 import com.moeim.group.Group;
 import com.moeim.group.GroupService;
 import com.moeim.schedule.dto.ScheduleForm;
+import com.moeim.user.SessionUser;
 import com.moeim.user.User;
 import com.moeim.user.UserService;
+import com.moeim.user.UserSnapshot;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
@@ -58,13 +60,13 @@ public class ScheduleController {
 
         Group group = groupService.findById(groupId);
 
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
 
         // 최신 유저 정보 갖고오기
-        User user = userService.getUserById(sessionUser.getId());
+        User user = userService.getUserReference(sessionUser.getId());
 
 //          TODO 유효성 검사 실패시
 //        if (bindingResult.hasErrors()) {
@@ -81,13 +83,13 @@ public class ScheduleController {
                 .orElseThrow(() -> new IllegalArgumentException("스케줄이 존재하지 않습니다"));
 
         // 로그인 체크
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
 
         // 최신 유저 정보 갖고와서 체크
-        User user = userService.getUserById(sessionUser.getId());
+        UserSnapshot user = userService.getSnapshot(sessionUser.getId());
 
         ScheduleForm form = new ScheduleForm();
         form.setTitle(schedule.getTitle());
@@ -113,13 +115,13 @@ public class ScheduleController {
                 .orElseThrow(() -> new IllegalArgumentException("스케줄이 존재하지 않습니다"));
 
         // 로그인 체크
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
 
         // 최신 유저 정보 갖고와서 체크
-        User user = userService.getUserById(sessionUser.getId());
+        User user = userService.getUserReference(sessionUser.getId());
 
         //          TODO 유효성 검사 실패시
 //        if (bindingResult.hasErrors()) {
@@ -138,13 +140,13 @@ public class ScheduleController {
                 .orElseThrow(() -> new IllegalArgumentException("스케줄이 존재하지 않습니다"));
 
         // 로그인 체크
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
 
         // 최신 유저 정보 갖고와서 체크
-        User user = userService.getUserById(sessionUser.getId());
+        User user = userService.getUserReference(sessionUser.getId());
 
         scheduleService.delete(groupService.findById(groupId), user, schedule);
 
@@ -167,7 +169,7 @@ public class ScheduleController {
     // 마이페이지용 내보내기
     @GetMapping("/my/export")
     public ResponseEntity<?> exportMySchedules(HttpSession session) {
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
 
         // 로그인 체크
         if (sessionUser == null) {
@@ -177,7 +179,7 @@ public class ScheduleController {
         }
 
         // 최신 유저 정보 갖고와서 체크
-        User user = userService.getUserById(sessionUser.getId());
+        UserSnapshot user = userService.getSnapshot(sessionUser.getId());
 
         String icalContent = scheduleService.generateUserIcs(user.getId());
 
@@ -31,8 +31,8 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
     @Query("update Schedule s set s.title = :title, s.description = :description, s.startDate = :startDate, s.endDate = :endDate where s.id = :id")
     void updateSchedule(@Param("id") Long id, @Param("title") String title, @Param("description") String description, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
-    // 특정 기간(시작~끝) 사이에 시작하는 일정 조회
-    List<Schedule> findAllByStartDateBetween(LocalDateTime start, LocalDateTime end);
+    // 특정 기간(시작~끝) 사이에 시작하는 일정 조회 (삭제 표시된 모임의 일정은 정리 전이라도 제외)
+    List<Schedule> findAllByStartDateBetweenAndGroup_DeletedAtIsNull(LocalDateTime start, LocalDateTime end);
 
     void deleteByGroup(Group group);
 
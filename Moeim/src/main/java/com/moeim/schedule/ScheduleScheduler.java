@@ -33,7 +33,7 @@ public class ScheduleScheduler {
         LocalDateTime endOfDay = LocalDateTime.of(tomorrow, LocalTime.MAX);
 
         // 내일 시작하는 모든 일정 조회
-        List<Schedule> schedules = scheduleRepository.findAllByStartDateBetween(startOfDay, endOfDay);
+        List<Schedule> schedules = scheduleRepository.findAllByStartDateBetweenAndGroup_DeletedAtIsNull(startOfDay, endOfDay);
 
         for (Schedule schedule : schedules) {
             // 각 일정의 그룹 멤버들에게 메일 발송
@@ -0,0 +1,56 @@
+package com.moeim.user;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * 세션에 넣는 로그인 정보 (User 엔티티 대신 → 프로필 이미지/연관 컬렉션 없이 수백 바이트)
+ * 화면에서는 그대로 ${session.user.id}, ${session.user.nickname}
+ * 엔티티가 필요하면 UserService.getUserReference / getUserById 로
+ * - version: User.sessionVersion (비밀번호가 바뀌면 올라감 → 이전 세션은 SessionUserInterceptor 에서 로그아웃)
+ * - 세션을 DB 에 저장할 때도 필드만 직접 씀 (Externalizable, 필드 이름/타입 정보 없이)
+ */
+@Getter
+@NoArgsConstructor // Externalizable 은 public 기본 생성자 필요
+public class SessionUser implements Externalizable {
+
+    // 클래스 이름만 같으면 배포가 바뀌어도 저장된 세션을 읽을 수 있도록 고정 (필드를 바꾸면 readExternal 도 같이)
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+    private String nickname;
+    private int version;
+
+    public SessionUser(Long id, String nickname, int version) {
+        this.id = id;
+        this.nickname = nickname;
+        this.version = version;
+    }
+
+    public static SessionUser from(User user) {
+        return new SessionUser(user.getId(), user.getNickname(), user.getSessionVersion());
+    }
+
+    public static SessionUser from(UserSnapshot snapshot) {
+        return new SessionUser(snapshot.getId(), snapshot.getNickname(), snapshot.getSessionVersion());
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeLong(id);
+        out.writeUTF(nickname);
+        out.writeInt(version);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        id = in.readLong();
+        nickname = in.readUTF();
+        version = in.readInt();
+    }
+}
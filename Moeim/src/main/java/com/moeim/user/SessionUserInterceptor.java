@@ -0,0 +1,43 @@
+package com.moeim.user;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 세션의 SessionUser 를 최신 유저 정보와 맞춤 (스냅샷 캐시로 확인하므로 보통 DB 안 감)
+ * - 탈퇴했거나 비밀번호가 바뀐 뒤(version 다름)의 세션 → 로그아웃
+ * - 다른 세션에서 닉네임을 바꿨으면 → 세션 값만 새로 고침
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionUserInterceptor implements HandlerInterceptor {
+
+    private final UserService userService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        HttpSession session = request.getSession(false);
+        if (session == null || !(session.getAttribute("user") instanceof SessionUser sessionUser)) {
+            return true;
+        }
+
+        UserSnapshot snapshot;
+        try {
+            snapshot = userService.getSnapshot(sessionUser.getId());
+        } catch (IllegalArgumentException e) {
+            session.invalidate();
+            return true;
+        }
+
+        if (snapshot.getSessionVersion() != sessionUser.getVersion()) {
+            session.invalidate();
+        } else if (!snapshot.getNickname().equals(sessionUser.getNickname())) {
+            session.setAttribute("user", SessionUser.from(snapshot));
+        }
+        return true;
+    }
+}
@@ -8,6 +8,7 @@ import com.moeim.post.Post;
 import com.moeim.review.userreview.UserReview;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 import org.springframework.web.multipart.MultipartFile;
@@ -51,6 +52,11 @@ public class User extends BaseTimeEntity {
     @org.hibernate.annotations.ColumnDefault("'/images/defaultProfilePicture.png'")
     private String profilePicture;
 
+    // 비밀번호가 바뀔 때마다 올라감 → 이전에 로그인한 세션 무효화 (SessionUser.version)
+    @Column(nullable = false, name = "session_version")
+    @org.hibernate.annotations.ColumnDefault("0")
+    private int sessionVersion = 0;
+
     @Setter
     @Column(nullable = false, name = "is_profile_public")
     @org.hibernate.annotations.ColumnDefault("TRUE")
@@ -73,14 +79,19 @@ public class User extends BaseTimeEntity {
     }
 
     // === getter/setter ===
-    @Setter
-    @Column(name = "profile_image", columnDefinition = "BYTEA")
-    private byte[] profileImage;
+    // 이미지 바이트는 BlobStore 파일로, 여기에는 그 키만 (예전 profile_image 컬럼은 BlobMigrationJob 이 옮기고 비움)
+    @Column(name = "profile_image_key", length = 64)
+    private String profileImageKey;
 
     @Setter
     @Column(name = "profile_image_type")
     private String profileImageType;   // "image/png", "image/jpeg" 같은 값
 
+    // 이미지가 바뀔 때마다 +1 (이미지 URL 의 ?v= 로 써서 브라우저 캐시를 갈아끼움)
+    @ColumnDefault("0")
+    @Column(name = "profile_image_version", nullable = false)
+    private long profileImageVersion;
+
     @OneToMany(mappedBy = "user", cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.LAZY)
     private List<Post> posts = new ArrayList<>();
 
@@ -127,11 +138,23 @@ public class User extends BaseTimeEntity {
 //        }
     }
 
+    public boolean isHasProfileImage() {
+        return profileImageKey != null;
+    }
+
+    public void changeProfileImage(String imageKey, String contentType) {
+        this.profileImageKey = imageKey;
+        this.profileImageType = contentType;
+        this.profileImageVersion++;
+    }
+
     public void updatePassword(String newPassword) {
         this.password = newPassword;
+        this.sessionVersion++;
     }
 
     public void changePassword(String newPassword) {
         this.password = newPassword;
+        this.sessionVersion++;
     }
 }
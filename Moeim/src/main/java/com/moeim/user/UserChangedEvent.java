@@ -0,0 +1,13 @@
+package com.moeim.user;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 유저 정보(프로필/비밀번호/관심사)가 바뀜 → 커밋 후 UserSnapshotCache 에서 제거
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserChangedEvent {
+    private final Long userId;
+}
@@ -2,6 +2,7 @@ package com.moeim.user;
 
 import com.moeim.category.Category;
 import com.moeim.category.CategoryService;
+import com.moeim.global.ImageCache;
 import com.moeim.group.GroupService;
 import com.moeim.group.GroupUser;
 import com.moeim.group.GroupUserService;
@@ -14,10 +15,9 @@ import com.moeim.review.userreview.UserReviewStatsDTO;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -42,6 +42,7 @@ public class UserController {
     private final GroupUserService groupUserService;
     private final PostService postService;
     private final CommentService commentService;
+    private final ImageCache imageCache;
 
     // ==============================
     // 로그인 페이지
@@ -86,7 +87,8 @@ public class UserController {
             return "user/login_form";
         }
 
-        session.setAttribute("user", user);
+        // 엔티티 대신 id/닉네임만 (프로필 이미지까지 세션에 들고 있지 않도록)
+        session.setAttribute("user", SessionUser.from(user));
         return "redirect:" + redirectURL;
     }
 
@@ -106,7 +108,7 @@ public class UserController {
     @GetMapping("/mypage")
     public String mypage(HttpSession session, Model model) {
 
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
@@ -124,7 +126,7 @@ public class UserController {
 
     //공통된 부분
     private String loadMypage(Long targetUserId, HttpSession session, Model model) {
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
@@ -345,7 +347,7 @@ public class UserController {
     // ============================
     @GetMapping("/edit")
     public String editForm(HttpSession session, Model model) {
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
@@ -365,7 +367,7 @@ public class UserController {
             HttpSession session,
             Model model
     ) {
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
@@ -382,7 +384,7 @@ public class UserController {
                             "image/webp".equalsIgnoreCase(contentType);
 
             if (!allowed) {
-                model.addAttribute("user", sessionUser);
+                model.addAttribute("user", userService.getUserById(sessionUser.getId()));
                 model.addAttribute("error", "JPG, PNG, GIF, WEBP 형식의 이미지 파일만 업로드할 수 있습니다.");
                 return "user/edit";
             }
@@ -398,7 +400,7 @@ public class UserController {
                     categoryIds
             );
 
-            session.setAttribute("user", updated); // 세션 최신화
+            session.setAttribute("user", SessionUser.from(updated)); // 세션 최신화
             model.addAttribute("user", updated);
             model.addAttribute("message", "프로필이 성공적으로 수정되었습니다.");
         } catch (IllegalArgumentException e) {
@@ -413,7 +415,7 @@ public class UserController {
     @GetMapping("/change-password")
     public String changePasswordForm(HttpSession session, Model model) {
 
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
@@ -432,7 +434,7 @@ public class UserController {
             HttpSession session,
             Model model
     ) {
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
@@ -444,6 +446,8 @@ public class UserController {
 
         try {
             userService.changePassword(sessionUser.getId(), currentPassword, newPassword);
+            // 다른 곳에서 로그인한 세션은 끊기고, 지금 세션은 새 version 으로 유지
+            session.setAttribute("user", SessionUser.from(userService.getSnapshot(sessionUser.getId())));
             model.addAttribute("message", "비밀번호가 성공적으로 변경되었습니다.");
         } catch (IllegalArgumentException e) {
             model.addAttribute("error", e.getMessage());
@@ -457,21 +461,11 @@ public class UserController {
     // user/profile-image/{id} 로 이미지 내리는 api
     @GetMapping("/profile-image/{id}")
     @ResponseBody
-    public ResponseEntity<byte[]> getProfileImage(@PathVariable("id") Long userId) {
-        User user = userService.getUserById(userId);
-        if (user == null || user.getProfileImage() == null) {
-            // 이미지 없으면 404. (위에서 기본 이미지로 표시하니까 상관 없음)
-            return ResponseEntity.notFound().build();
-        }
-
-        HttpHeaders headers = new HttpHeaders();
-        String contentType = user.getProfileImageType();  // 엔티티에 저장해 둔 MIME 타입
-        if (contentType == null || contentType.isBlank()) {
-            contentType = "image/png";
-        }
-        headers.setContentType(MediaType.parseMediaType(contentType));
-
-        return new ResponseEntity<>(user.getProfileImage(), headers, HttpStatus.OK);
+    public ResponseEntity<Resource> getProfileImage(@PathVariable("id") Long userId,
+                                                    @RequestParam(required = false) Long v,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 이미지 없으면 404. (위에서 기본 이미지로 표시하니까 상관 없음)
+        return imageCache.serve(ImageCache.USER + userId, () -> userRepository.findProfileImageRef(userId), v, ifNoneMatch);
     }
 
     @GetMapping("/grouplist/{userId}")
@@ -480,7 +474,7 @@ public class UserController {
                               @RequestParam(defaultValue = "0") int page,
                               HttpSession session) {
 
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
@@ -508,7 +502,7 @@ public class UserController {
                              @RequestParam(defaultValue = "0") int page,
                              HttpSession session) {
 
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
@@ -536,7 +530,7 @@ public class UserController {
                                 @RequestParam(defaultValue = "0") int page,
                                 HttpSession session) {
 
-        User sessionUser = (User) session.getAttribute("user");
+        SessionUser sessionUser = (SessionUser) session.getAttribute("user");
         if (sessionUser == null) {
             return "redirect:/user/login_form";
         }
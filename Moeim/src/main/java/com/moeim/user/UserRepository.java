@@ -1,9 +1,13 @@
 // src/main/java/com/moeim/user/UserRepository.java
 package com.moeim.user;
 
+import com.moeim.global.ImageRef;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -13,4 +17,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);      // 이메일 중복 체크
     boolean existsByNickname(String nickname); // 닉네임 중복 체크
+
+    // ───────────────── UserSnapshot 용 (프로필 이미지 바이트는 읽지 않음) ─────────────────
+
+    interface SnapshotRow {
+        Long getId();
+        String getNickname();
+        boolean isProfilePublic();
+        int getSessionVersion();
+        long getProfileImageVersion();
+    }
+
+    @Query("SELECT u.id AS id, u.nickname AS nickname, u.profilePublic AS profilePublic, " +
+            "u.sessionVersion AS sessionVersion, u.profileImageVersion AS profileImageVersion " +
+            "FROM User u WHERE u.id = :id")
+    Optional<SnapshotRow> findSnapshotRow(@Param("id") Long id);
+
+    @Query("SELECT i FROM User u JOIN u.interestCategoryIds i WHERE u.id = :id")
+    Set<Integer> findInterestCategoryIds(@Param("id") Long id);
+
+    // ───────────────── /user/profile-image 용 (ImageCache 참조) ─────────────────
+
+    @Query("SELECT new com.moeim.global.ImageRef(u.profileImageKey, u.profileImageType, u.profileImageVersion) " +
+            "FROM User u WHERE u.id = :id")
+    Optional<ImageRef> findProfileImageRef(@Param("id") Long id);
 }
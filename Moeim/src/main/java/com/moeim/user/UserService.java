@@ -1,10 +1,13 @@
 package com.moeim.user;
 
 import com.moeim.category.CategoryRepository;
+import com.moeim.global.BlobStore;
 import com.moeim.global.ImageResizeUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -21,6 +24,9 @@ public class UserService {
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserSnapshotCache userSnapshotCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlobStore blobStore;
 
     // 회원가입
     public User signup(String email, String password, String nickname, String bio, List<Integer> categoryIds) {
@@ -71,6 +77,25 @@ public class UserService {
                 .orElseThrow(() -> new IllegalArgumentException("유저를 찾을 수 없습니다."));
     }
 
+    /**
+     * 로그인 유저 정보 (캐시, 매 요청 users 를 다시 읽지 않음)
+     * 프로필 이미지/비밀번호 등 스냅샷에 없는 값이 필요할 때만 getUserById
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public UserSnapshot getSnapshot(Long id) {
+        return userSnapshotCache.get(id);
+    }
+
+    /**
+     * 연관관계 저장/조회 조건용 User (존재 확인은 스냅샷으로 하고 users 는 읽지 않음)
+     * 닉네임 등 필드를 건드리면 그때 한 번 읽힘
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public User getUserReference(Long id) {
+        userSnapshotCache.get(id);
+        return userRepository.getReferenceById(id);
+    }
+
     /**
      * 프로필 수정
      * - nickname, bio, profilePicture, profilePublic(프로필 공개 여부)을 갱신
@@ -111,9 +136,8 @@ public class UserService {
                 // 원본 바이트를 240*240 픽셀로 리사이징
                 byte[] resizedBytes = ImageResizeUtil.resize(originalBytes, outputFormat);
 
-                // 리사이징된 바이트와 ContentType 저장
-                user.setProfileImage(resizedBytes);
-                user.setProfileImageType(contentType);
+                // 리사이징된 바이트는 파일로, 엔티티에는 키와 ContentType 저장 (버전 +1)
+                user.changeProfileImage(blobStore.put(resizedBytes), contentType);
             } catch (IOException e) {
                 // IOException 발생 시 처리 로직
                 e.printStackTrace();
@@ -121,7 +145,9 @@ public class UserService {
             }
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
+        return saved;
     }
 
     /**
@@ -145,6 +171,7 @@ public class UserService {
         // 엔티티 메서드 이름 통일 (updatePassword 사용)
         user.updatePassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     /**
@@ -175,6 +202,7 @@ public class UserService {
         // 여기서도 changePassword 가 아니라 updatePassword 로 이름 통일
         user.updatePassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     // 유저 관심사 업데이트 메소드
@@ -184,5 +212,6 @@ public class UserService {
 
         // 중복 제거를 위해 Set으로 변환하여 저장
         user.updateInterests(new HashSet<>(categoryIds));
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.moeim.user;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * 요청 처리에 자주 쓰는 유저 정보만 담은 읽기 전용 복사본 (UserSnapshotCache 에서 꺼냄)
+ * 연관관계에 넣을 User 가 필요하면 UserService.getUserReference 사용
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserSnapshot {
+
+    private final Long id;
+    private final String nickname;
+    private final boolean profilePublic;
+    private final int sessionVersion;
+    private final long profileImageVersion; // 프로필 이미지 URL 의 ?v=
+    private final Set<Integer> interestCategoryIds;
+}
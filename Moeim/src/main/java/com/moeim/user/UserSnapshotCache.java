@@ -0,0 +1,93 @@
+package com.moeim.user;
+
+import com.moeim.global.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 로그인 유저 정보 캐시 (요청마다 users 를 PK 로 다시 읽던 것 대신)
+ * - 한 요청 안에서는 처음 꺼낸 스냅샷을 그대로 씀 (요청 속성에 보관)
+ * - 요청 사이에는 ttl 동안 최대 max-size 명까지 보관 (최근 사용 순으로 밀어냄)
+ * - 프로필/비밀번호/관심사가 바뀌면 커밋 후 바로 제거 (UserChangedEvent)
+ *   서버가 여러 대면 다른 서버 캐시는 ttl 이 지나야 바뀜
+ */
+@Component
+public class UserSnapshotCache {
+
+    private static final String REQUEST_MEMO_ATTRIBUTE = UserSnapshotCache.class.getName() + ".memo";
+
+    private final UserRepository userRepository;
+
+    // userId -> 스냅샷
+    private final TtlCache<Long, UserSnapshot> snapshots;
+
+    public UserSnapshotCache(
+            UserRepository userRepository,
+            @Value("${user.snapshot-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${user.snapshot-cache.max-size:10000}") int maxSize
+    ) {
+        this.userRepository = userRepository;
+        this.snapshots = new TtlCache<>(ttlSeconds, maxSize);
+    }
+
+    /**
+     * 유저 스냅샷 (없거나 탈퇴한 유저면 IllegalArgumentException)
+     */
+    public UserSnapshot get(Long userId) {
+        Map<Long, UserSnapshot> memo = requestMemo();
+        if (memo != null) {
+            UserSnapshot memoized = memo.get(userId);
+            if (memoized != null) return memoized;
+        }
+
+        UserSnapshot snapshot = snapshots.get(userId, this::load);
+        if (memo != null) {
+            memo.put(userId, snapshot);
+        }
+        return snapshot;
+    }
+
+    private UserSnapshot load(Long userId) {
+        UserRepository.SnapshotRow row = userRepository.findSnapshotRow(userId)
+                .orElseThrow(() -> new IllegalArgumentException("유저를 찾을 수 없습니다."));
+        Set<Integer> interests = userRepository.findInterestCategoryIds(userId);
+        return new UserSnapshot(row.getId(), row.getNickname(), row.isProfilePublic(), row.getSessionVersion(),
+                row.getProfileImageVersion(), Set.copyOf(interests));
+    }
+
+    // 웹 요청 안이면 요청 단위 메모 (스케줄러/웹소켓 스레드면 null)
+    @SuppressWarnings("unchecked")
+    private Map<Long, UserSnapshot> requestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return null;
+
+        Map<Long, UserSnapshot> memo =
+                (Map<Long, UserSnapshot>) attributes.getAttribute(REQUEST_MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(REQUEST_MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+
+    public void evict(Long userId) {
+        snapshots.evict(userId);
+        Map<Long, UserSnapshot> memo = requestMemo();
+        if (memo != null) {
+            memo.remove(userId);
+        }
+    }
+
+    // 커밋 전에 지우면 그 사이 다른 요청이 옛 값을 다시 넣을 수 있으므로 커밋 후에
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.getUserId());
+    }
+}
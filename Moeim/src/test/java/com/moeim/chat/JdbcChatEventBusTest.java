@@ -0,0 +1,209 @@
+package com.moeim.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 서버 두 대(스프링 컨텍스트 두 개)가 같은 DB 의 chat_event_notifications 로 이벤트를 주고받는지
+ * 트랜잭션 안에서 보낸 이벤트는 커밋된 뒤에만 다른 서버로
+ * ObjectMapper 는 ParameterNamesModule 없이 JavaTimeModule 만 (이벤트 생성자의 @JsonCreator 로만 역직렬화되는지)
+ */
+class JdbcChatEventBusTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:chat-event-bus;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+
+    private AnnotationConfigApplicationContext nodeA;
+    private AnnotationConfigApplicationContext nodeB;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(DB_URL, "sa", ""));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS chat_event_notifications");
+        jdbcTemplate.execute("CREATE TABLE chat_event_notifications (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "node_id VARCHAR(64) NOT NULL, " +
+                "type VARCHAR(20) NOT NULL, " +
+                "payload VARCHAR(8000) NOT NULL, " +
+                "created_at TIMESTAMP NOT NULL)");
+
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+
+        // 첫 틱은 시작 위치만 잡음
+        bus(nodeA).poll();
+        bus(nodeB).poll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void eventsReachOtherNode() {
+        ChatMessageSentEvent message = new ChatMessageSentEvent(1L, 10L, 100L, "보낸사람", "안녕 \"하세요\"", CREATED_AT);
+        ChatReadMarkedEvent read = new ChatReadMarkedEvent(1L, 200L, 10L);
+        ChatRoomMembershipEvent deleted = ChatRoomMembershipEvent.roomDeleted(2L);
+
+        bus(nodeA).publishAll(List.of(message));
+        bus(nodeA).publish(read);
+        bus(nodeA).publish(deleted);
+        bus(nodeA).poll(); // 모아 둔 읽음/참가자 이벤트 보내기
+        bus(nodeB).poll();
+
+        List<Object> received = received(nodeB);
+        assertEquals(3, received.size());
+
+        ChatMessageSentEvent m = assertInstanceOf(ChatMessageSentEvent.class, received.get(0));
+        assertEquals(1L, m.getRoomId());
+        assertEquals(10L, m.getMessageId());
+        assertEquals(100L, m.getSenderId());
+        assertEquals("보낸사람", m.getSenderNickname());
+        assertEquals("안녕 \"하세요\"", m.getContent());
+        assertEquals(CREATED_AT, m.getCreatedAt());
+
+        ChatReadMarkedEvent r = assertInstanceOf(ChatReadMarkedEvent.class, received.get(1));
+        assertEquals(1L, r.getRoomId());
+        assertEquals(200L, r.getUserId());
+        assertEquals(10L, r.getMessageId());
+
+        ChatRoomMembershipEvent d = assertInstanceOf(ChatRoomMembershipEvent.class, received.get(2));
+        assertEquals(ChatRoomMembershipEvent.Type.ROOM_DELETED, d.getType());
+        assertEquals(2L, d.getRoomId());
+        assertNull(d.getUserId());
+    }
+
+    @Test
+    void ownEventsAreDeliveredOnce() {
+        bus(nodeA).publishAll(List.of(new ChatMessageSentEvent(1L, 10L, 100L, "보낸사람", "내용", CREATED_AT)));
+        bus(nodeA).publish(ChatRoomMembershipEvent.joined(1L, 100L));
+        bus(nodeA).poll();
+        bus(nodeA).poll(); // 자기가 보낸 행을 다시 읽어도 건너뜀
+
+        assertEquals(2, received(nodeA).size());
+    }
+
+    @Test
+    void eventsFromRolledBackTransactionStayLocal() {
+        TransactionTemplate tx = new TransactionTemplate(
+                new DataSourceTransactionManager(nodeA.getBean(DataSource.class)));
+        tx.executeWithoutResult(status -> {
+            bus(nodeA).publish(ChatRoomMembershipEvent.roomDeleted(2L));
+            bus(nodeA).poll(); // 커밋 전 틱에도 보내지 않음
+            status.setRollbackOnly();
+        });
+        bus(nodeA).poll();
+        bus(nodeB).poll();
+
+        assertTrue(received(nodeB).isEmpty());
+    }
+
+    @Test
+    void eventsFromCommittedTransactionAreSentAfterCommit() {
+        TransactionTemplate tx = new TransactionTemplate(
+                new DataSourceTransactionManager(nodeA.getBean(DataSource.class)));
+        tx.executeWithoutResult(status -> {
+            bus(nodeA).publish(ChatRoomMembershipEvent.joined(1L, 100L));
+            bus(nodeA).poll();
+            bus(nodeB).poll();
+            assertTrue(received(nodeB).isEmpty());
+        });
+        bus(nodeA).poll();
+        bus(nodeB).poll();
+
+        List<Object> received = received(nodeB);
+        assertEquals(1, received.size());
+        ChatRoomMembershipEvent joined = assertInstanceOf(ChatRoomMembershipEvent.class, received.get(0));
+        assertEquals(ChatRoomMembershipEvent.Type.JOINED, joined.getType());
+        assertEquals(100L, joined.getUserId());
+    }
+
+    @Test
+    void eventsRoundTripThroughJson() throws Exception {
+        ObjectMapper objectMapper = objectMapper();
+
+        ChatMessageSentEvent message = objectMapper.readValue(objectMapper.writeValueAsString(
+                new ChatMessageSentEvent(1L, 10L, 100L, "보낸사람", "내용", CREATED_AT)), ChatMessageSentEvent.class);
+        assertEquals(10L, message.getMessageId());
+        assertEquals("보낸사람", message.getSenderNickname());
+        assertEquals(CREATED_AT, message.getCreatedAt());
+
+        ChatReadMarkedEvent read = objectMapper.readValue(objectMapper.writeValueAsString(
+                new ChatReadMarkedEvent(1L, 200L, 10L)), ChatReadMarkedEvent.class);
+        assertEquals(200L, read.getUserId());
+        assertEquals(10L, read.getMessageId());
+
+        ChatRoomMembershipEvent left = objectMapper.readValue(objectMapper.writeValueAsString(
+                ChatRoomMembershipEvent.left(1L, 200L)), ChatRoomMembershipEvent.class);
+        assertEquals(ChatRoomMembershipEvent.Type.LEFT, left.getType());
+        assertEquals(200L, left.getUserId());
+    }
+
+    // ───────────────── 서버 한 대 = 컨텍스트 하나 ─────────────────
+
+    private static AnnotationConfigApplicationContext startNode(String nodeId) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        TestPropertyValues.of("chat.event-bus.type=jdbc").applyTo(context);
+
+        context.registerBean(DataSource.class, () -> new DriverManagerDataSource(DB_URL, "sa", ""));
+        context.registerBean(JdbcTemplate.class, () -> new JdbcTemplate(context.getBean(DataSource.class)));
+        context.registerBean(ReceivedEvents.class);
+        context.registerBean(JdbcChatEventBus.class, () -> new JdbcChatEventBus(
+                context.getBean(JdbcTemplate.class), objectMapper(), context, nodeId, 5000));
+        context.refresh();
+        return context;
+    }
+
+    private static ObjectMapper objectMapper() {
+        return JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    }
+
+    private static JdbcChatEventBus bus(AnnotationConfigApplicationContext node) {
+        return node.getBean(JdbcChatEventBus.class);
+    }
+
+    private static List<Object> received(AnnotationConfigApplicationContext node) {
+        return node.getBean(ReceivedEvents.class).events;
+    }
+
+    // 그 서버의 리스너가 받은 이벤트 (받은 순서대로)
+    static class ReceivedEvents {
+        private final List<Object> events = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void onMessageSent(ChatMessageSentEvent event) {
+            events.add(event);
+        }
+
+        @EventListener
+        public void onReadMarked(ChatReadMarkedEvent event) {
+            events.add(event);
+        }
+
+        @EventListener
+        public void onMembershipChanged(ChatRoomMembershipEvent event) {
+            events.add(event);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.moeim.chat;
+
+import org.junit.jupiter.api.RepeatedTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 랜덤 채팅 매칭 동시성 테스트
+ * 수천 명이 동시에 참가/취소 → 모든 사람이 짝 한 번 / 깔끔한 취소 / (한 명만) 대기 중 중 하나
+ */
+class RandomChatMatcherTest {
+
+    private static final int USERS = 4000;
+    private static final int THREADS = 64;
+
+    @RepeatedTest(10)
+    void concurrentJoinAndCancel() throws Exception {
+        RandomChatMatcher matcher = new RandomChatMatcher(30, 120);
+        AtomicLong roomSeq = new AtomicLong();
+        Queue<RandomChatMatcher.Match> matches = new ConcurrentLinkedQueue<>();
+        AtomicReferenceArray<Boolean> cancelled = new AtomicReferenceArray<>(USERS);
+
+        // 모든 사람이 참가, 절반은 취소도 (참가와 순서 무관하게 동시에)
+        List<Runnable> calls = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            long userId = i;
+            calls.add(() -> {
+                RandomChatMatcher.Match match = matcher.join(userId);
+                if (match != null) {
+                    matches.add(match);
+                    matcher.complete(match, roomSeq.incrementAndGet());
+                }
+            });
+            if (i % 2 == 0) {
+                calls.add(() -> cancelled.set((int) userId, matcher.cancel(userId)));
+            }
+        }
+        Collections.shuffle(calls, ThreadLocalRandom.current());
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>(calls.size());
+            for (Runnable call : calls) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    call.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 한 사람은 한 쌍에만
+        Map<Long, Long> roomByUser = new HashMap<>();
+        for (RandomChatMatcher.Match match : matches) {
+            Long first = match.getFirst().getUserId();
+            Long second = match.getSecond().getUserId();
+            Long roomId = match.getFirst().getRoomId();
+            assertNotEquals(first, second, "자기 자신과 짝");
+            assertEquals(roomId, match.getSecond().getRoomId());
+            assertNull(roomByUser.put(first, roomId), "두 쌍에 들어간 사용자: " + first);
+            assertNull(roomByUser.put(second, roomId), "두 쌍에 들어간 사용자: " + second);
+        }
+
+        int waiting = 0;
+        for (long userId = 0; userId < USERS; userId++) {
+            RandomChatMatcher.Ticket ticket = matcher.status(userId);
+            Long roomId = roomByUser.get(userId);
+
+            if (Boolean.TRUE.equals(cancelled.get((int) userId))) {
+                // 취소에 성공했으면 짝도 없고 대기열에도 없음
+                assertNull(roomId, "취소했는데 짝이 된 사용자: " + userId);
+                assertNull(ticket, "취소했는데 남아 있는 티켓: " + userId);
+            } else if (roomId != null) {
+                assertNotNull(ticket, "짝이 됐는데 결과가 없는 사용자: " + userId);
+                assertEquals(RandomChatMatcher.MATCHED, ticket.getStatus());
+                assertEquals(roomId, ticket.getRoomId());
+            } else {
+                // 짝도 취소도 아니면 대기 자리에 있는 사람 (한 칸이라 최대 한 명)
+                assertNotNull(ticket, "사라진 사용자: " + userId);
+                assertEquals(RandomChatMatcher.WAITING, ticket.getStatus(), "대기 중이 아닌 사용자: " + userId);
+                waiting++;
+            }
+        }
+        assertTrue(waiting <= 1, "대기 중인 사람이 둘 이상: " + waiting);
+        assertEquals(matches.size(), roomSeq.get());
+    }
+}